@@ -0,0 +1,71 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import currencyrates.currencyratesservice.CurrencyRatesServiceApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+final class BenchmarkContext {
+    //region Fields
+    private static final String H2_URL =
+            "jdbc:h2:mem:currency_rates_bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    private static final String POSTGRES_URL =
+            "jdbc:postgresql://localhost:5432/currency_rates_bench?reWriteBatchedInserts=true";
+    //endregion
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext startInMemory(String... extraArgs) {
+        List<String> args = commonArgs();
+        args.add("--spring.datasource.url=" + H2_URL);
+        args.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        args.add("--spring.datasource.username=sa");
+        args.add("--spring.datasource.password=");
+        args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        args.addAll(List.of(extraArgs));
+
+        return start(args, WebApplicationType.NONE);
+    }
+
+    static ConfigurableApplicationContext startPostgres(String... extraArgs) {
+        return start(postgresArgs(extraArgs), WebApplicationType.NONE);
+    }
+
+    static ConfigurableApplicationContext startPostgresServer(String... extraArgs) {
+        List<String> args = postgresArgs(extraArgs);
+        args.add("--server.port=0");
+
+        return start(args, WebApplicationType.SERVLET);
+    }
+
+    private static List<String> postgresArgs(String... extraArgs) {
+        List<String> args = commonArgs();
+        args.add("--spring.datasource.url=" + System.getProperty("bench.db.url", POSTGRES_URL));
+        args.add("--spring.datasource.username=" + System.getProperty("bench.db.username", "postgres"));
+        args.add("--spring.datasource.password=" + System.getProperty("bench.db.password", "postgres"));
+        args.addAll(List.of(extraArgs));
+
+        return args;
+    }
+
+    private static List<String> commonArgs() {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.profiles.active=mock");
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--rates.prewarm.on-startup=false");
+        args.add("--rates.prewarm.cron=-");
+
+        return args;
+    }
+
+    private static ConfigurableApplicationContext start(List<String> args,
+                                                        WebApplicationType webApplicationType) {
+        SpringApplication application = new SpringApplication(CurrencyRatesServiceApplication.class);
+        application.setWebApplicationType(webApplicationType);
+
+        return application.run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,77 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.mock.MockRateDataset;
+
+final class BenchmarkData {
+    //region Fields
+    static final String MOCK_DATA_PATH = "mock_data.json";
+    static final LocalDate EXCHANGE_DATE = LocalDate.of(2024, 3, 22);
+    //endregion
+
+    private BenchmarkData() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static byte[] mockDataBytes() {
+        try (InputStream is = BenchmarkData.class.getClassLoader()
+                .getResourceAsStream(MOCK_DATA_PATH)) {
+            if (is == null) {
+                throw new IllegalStateException("Mock data file '" + MOCK_DATA_PATH
+                        + "' not found on the classpath");
+            }
+
+            return is.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static MockRateDataset mockDataset() {
+        try {
+            CurrencyRate[] currencyRates =
+                    objectMapper().readValue(mockDataBytes(), CurrencyRate[].class);
+
+            return MockRateDataset.of(Arrays.asList(currencyRates));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<CurrencyRate> dayOfRates(LocalDate date) {
+        List<CurrencyRate> currencyRates = mockDataset().ratesOn(date);
+        LocalDateTime receivingDate = LocalDateTime.now();
+        currencyRates.forEach(rate -> rate.setReceivingDate(receivingDate));
+
+        return currencyRates;
+    }
+
+    static CurrencyRate copyForDate(CurrencyRate source, LocalDate date) {
+        CurrencyRate copy = new CurrencyRate();
+        copy.setR030(source.getR030());
+        copy.setTxt(source.getTxt());
+        copy.setRate(source.getRate());
+        copy.setCc(source.getCc());
+        copy.setExchangeDate(date);
+        copy.setReceivingDate(source.getReceivingDate());
+
+        return copy;
+    }
+}
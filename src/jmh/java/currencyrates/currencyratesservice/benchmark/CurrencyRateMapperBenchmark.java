@@ -0,0 +1,47 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import currencyrates.currencyratesservice.dto.CurrencyRateResponseDto;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.mapper.CurrencyRateMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CurrencyRateMapperBenchmark {
+    //region Fields
+    private final CurrencyRateMapper mapper = new CurrencyRateMapper();
+    private List<CurrencyRate> dayOfRates;
+    //endregion
+
+    @Setup
+    public void setUp() {
+        dayOfRates = BenchmarkData.dayOfRates(BenchmarkData.EXCHANGE_DATE);
+    }
+
+    @Benchmark
+    public List<CurrencyRateResponseDto> toDtoDay() {
+        List<CurrencyRateResponseDto> dtos = new ArrayList<>(dayOfRates.size());
+
+        for (CurrencyRate rate : dayOfRates) {
+            dtos.add(mapper.toDto(rate));
+        }
+
+        return dtos;
+    }
+}
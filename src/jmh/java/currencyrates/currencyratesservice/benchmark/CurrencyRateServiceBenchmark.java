@@ -0,0 +1,61 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshotCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CurrencyRateServiceBenchmark {
+    //region Fields
+    private ConfigurableApplicationContext context;
+    private CurrencyRateService currencyRateService;
+    private RateSnapshotCache rateSnapshotCache;
+    //endregion
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.startInMemory();
+        context.getBean(CurrencyRateRepository.class)
+                .saveAll(BenchmarkData.dayOfRates(BenchmarkData.EXCHANGE_DATE));
+        currencyRateService = context.getBean(CurrencyRateService.class);
+        rateSnapshotCache = context.getBean(RateSnapshotCache.class);
+        currencyRateService.findAllRatesByDate(BenchmarkData.EXCHANGE_DATE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CurrencyRate> cacheHit() {
+        return currencyRateService.findAllRatesByDate(BenchmarkData.EXCHANGE_DATE);
+    }
+
+    @Benchmark
+    public List<CurrencyRate> cacheMiss() {
+        rateSnapshotCache.invalidate(BenchmarkData.EXCHANGE_DATE);
+
+        return currencyRateService.findAllRatesByDate(BenchmarkData.EXCHANGE_DATE);
+    }
+}
@@ -0,0 +1,175 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public final class LoadTestRunner {
+    //region Fields
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final LocalDate FIRST_DATE = BenchmarkData.EXCHANGE_DATE;
+    //endregion
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "256"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        long latencyMillis = Long.parseLong(options.getOrDefault("latency", "50"));
+        int days = (int) Math.min(Long.parseLong(options.getOrDefault("days", "900")),
+                ChronoUnit.DAYS.between(FIRST_DATE, LocalDate.now()) + 1);
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = BenchmarkContext.startPostgresServer(
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--nbu.api.mock-latency=" + latencyMillis + "ms",
+                    "--rates.cache.max-size=1",
+                    "--rates.payload-cache.max-bytes=0",
+                    "--rates.history.enabled=false",
+                    "--rates.history.snapshot.enabled=false",
+                    "--logging.level.root=WARN")) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String mode = virtualThreads ? "virtual" : "platform";
+
+                run(port, concurrency, warmup, days);
+                context.getBean(CurrencyRateRepository.class).deleteAllInBatch();
+                results.add(Result.of(mode, run(port, concurrency, duration, days), duration));
+            }
+        }
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %10s%n",
+                "mode", "requests", "errors", "rps", "p50 ms", "p99 ms");
+        results.forEach(result -> System.out.printf("%-10s %12d %10d %10.1f %10.2f %10.2f%n",
+                result.mode(), result.requests(), result.errors(), result.rps(),
+                result.p50Millis(), result.p99Millis()));
+    }
+
+    private static Samples run(int port, int concurrency, Duration duration, int days)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Samples>> workers = new ArrayList<>(concurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> drive(client, port, deadline, days)));
+            }
+
+            Samples total = new Samples();
+            for (Future<Samples> worker : workers) {
+                total.addAll(worker.get());
+            }
+
+            return total;
+        }
+    }
+
+    private static Samples drive(HttpClient client, int port, long deadline, int days) {
+        Samples samples = new Samples();
+
+        while (System.nanoTime() < deadline) {
+            LocalDate date = FIRST_DATE.plusDays(ThreadLocalRandom.current().nextInt(days));
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/currency-rates/by-date?date=" + date.format(DATE_FORMAT)))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding())
+                        .statusCode();
+                samples.add(System.nanoTime() - start, status < 400);
+            } catch (IOException e) {
+                samples.add(System.nanoTime() - start, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        return samples;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+
+        return options;
+    }
+
+    private static final class Samples {
+        //region Fields
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+        //endregion
+
+        void add(long latencyNanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        double percentileMillis(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(size - 1, Math.ceil(percentile * size) - 1);
+
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    private record Result(String mode, long requests, long errors, double rps,
+                          double p50Millis, double p99Millis) {
+        static Result of(String mode, Samples samples, Duration duration) {
+            return new Result(mode, samples.size, samples.errors,
+                    samples.size / (double) duration.toSeconds(),
+                    samples.percentileMillis(0.50), samples.percentileMillis(0.99));
+        }
+    }
+}
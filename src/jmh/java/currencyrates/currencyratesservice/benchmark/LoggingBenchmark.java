@@ -0,0 +1,96 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.async.AsyncLoggerContextSelector;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = LoggingBenchmark.ASYNC_LOGGERS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoggingBenchmark {
+    //region Fields
+    static final String SYNC_LOGGERS =
+            "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector";
+    static final String ASYNC_LOGGERS = "-Dlog4j2.asyncQueueFullPolicy=Default";
+    private static final String SYNC_PATTERN = "%d{yyyy-MM-dd HH:mm:ss} %-5level %logger{36} - %msg%n";
+    private static final String ASYNC_PATTERN = "%d{DEFAULT} %-5level %logger{36} - %msg%n";
+    private static final String APPENDER = "LogFile";
+    private final LocalDate date = BenchmarkData.EXCHANGE_DATE;
+    private final int rateCount = BenchmarkData.dayOfRates(BenchmarkData.EXCHANGE_DATE).size();
+    private Path logFile;
+    private Logger logger;
+    //endregion
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        boolean async = AsyncLoggerContextSelector.isSelected();
+        ConfigurationBuilder<BuiltConfiguration> builder =
+                ConfigurationBuilderFactory.newConfigurationBuilder();
+
+        builder.add(builder.newAppender(APPENDER, async ? "RandomAccessFile" : "File")
+                .addAttribute("fileName", logFile.toString())
+                .addAttribute("immediateFlush", !async)
+                .add(builder.newLayout("PatternLayout")
+                        .addAttribute("pattern", async ? ASYNC_PATTERN : SYNC_PATTERN)));
+        builder.add(builder.newRootLogger(Level.INFO)
+                .add(builder.newAppenderRef(APPENDER)));
+        Configurator.reconfigure(builder.build());
+
+        logger = LogManager.getLogger(LoggingBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        LogManager.shutdown();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = SYNC_LOGGERS)
+    public void synchronousInfoPerRequest() {
+        logRequest(Level.INFO);
+    }
+
+    @Benchmark
+    public void asynchronousInfoPerRequest() {
+        logRequest(Level.INFO);
+    }
+
+    @Benchmark
+    public void asynchronousDebugPerRequest() {
+        logRequest(Level.DEBUG);
+    }
+
+    private void logRequest(Level level) {
+        logger.log(level, "Received request to get currency rates on date: {}", date);
+        logger.log(level, "Found {} currency rates in the database for date: {}", rateCount, date);
+        logger.log(level, "Responding with {} currency rates on date: {}", rateCount, date);
+    }
+}
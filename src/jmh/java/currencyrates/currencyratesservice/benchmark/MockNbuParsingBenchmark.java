@@ -0,0 +1,56 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.mock.MockRateDataset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MockNbuParsingBenchmark {
+    //region Fields
+    private static final String CURRENCY_CODE = "USD";
+    private ObjectMapper objectMapper;
+    private byte[] mockData;
+    private MockRateDataset dataset;
+    //endregion
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkData.objectMapper();
+        mockData = BenchmarkData.mockDataBytes();
+        dataset = BenchmarkData.mockDataset();
+    }
+
+    @Benchmark
+    public CurrencyRate[] parseMockFile() throws IOException {
+        return objectMapper.readValue(mockData, CurrencyRate[].class);
+    }
+
+    @Benchmark
+    public List<CurrencyRate> datasetDayView() {
+        return dataset.ratesOn(BenchmarkData.EXCHANGE_DATE);
+    }
+
+    @Benchmark
+    public Optional<CurrencyRate> datasetCurrencyLookup() {
+        return dataset.rateOn(CURRENCY_CODE, BenchmarkData.EXCHANGE_DATE);
+    }
+}
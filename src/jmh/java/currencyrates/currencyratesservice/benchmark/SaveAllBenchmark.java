@@ -0,0 +1,84 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Needs a running PostgreSQL (-Dbench.db.url, -Dbench.db.username, -Dbench.db.password):
+// the upsert relies on INSERT ... ON CONFLICT, which the in-memory database does not support.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SaveAllBenchmark {
+    //region Fields
+    private static final LocalDate FIRST_DATE = LocalDate.of(2000, 1, 1);
+    @Param({"60", "600", "6000"})
+    public int batchSize;
+    private ConfigurableApplicationContext context;
+    private CurrencyRateService currencyRateService;
+    private List<CurrencyRate> template;
+    private LocalDate nextDate;
+    //endregion
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.startPostgres();
+        currencyRateService = context.getBean(CurrencyRateService.class);
+        template = BenchmarkData.dayOfRates(BenchmarkData.EXCHANGE_DATE);
+        nextDate = FIRST_DATE;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CurrencyRate> saveAllToDB(RowCounter counter) {
+        List<CurrencyRate> batch = new ArrayList<>(batchSize);
+
+        while (batch.size() < batchSize) {
+            LocalDate date = nextDate;
+            nextDate = nextDate.minusDays(1);
+
+            for (int i = 0; i < template.size() && batch.size() < batchSize; i++) {
+                batch.add(BenchmarkData.copyForDate(template.get(i), date));
+            }
+        }
+        counter.rows += batch.size();
+
+        return currencyRateService.saveAllToDB(batch);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import currencyrates.currencyratesservice.dto.CurrencyRateResponseDto;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.mapper.CurrencyRateMapper;
+import currencyrates.currencyratesservice.service.stream.CurrencyRateStreamWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+    //region Fields
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private ObjectMapper objectMapper;
+    private CurrencyRateStreamWriter streamWriter;
+    private List<CurrencyRate> dayOfRates;
+    private List<CurrencyRateResponseDto> dayOfDtos;
+    //endregion
+
+    @Setup
+    public void setUp() {
+        CurrencyRateMapper mapper = new CurrencyRateMapper();
+        objectMapper = BenchmarkData.objectMapper();
+        streamWriter = new CurrencyRateStreamWriter(objectMapper, mapper);
+        dayOfRates = BenchmarkData.dayOfRates(BenchmarkData.EXCHANGE_DATE);
+        dayOfDtos = dayOfRates.stream().map(mapper::toDto).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeDtoList() throws IOException {
+        return objectMapper.writeValueAsBytes(dayOfDtos);
+    }
+
+    @Benchmark
+    public byte[] streamDay() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(BUFFER_SIZE);
+        streamWriter.writeJsonArray(dayOfRates.stream(), outputStream);
+
+        return outputStream.toByteArray();
+    }
+}
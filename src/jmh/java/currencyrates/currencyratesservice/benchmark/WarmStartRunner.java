@@ -0,0 +1,120 @@
+package currencyrates.currencyratesservice.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public final class WarmStartRunner {
+    //region Fields
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final LocalDate FIRST_DATE = BenchmarkData.EXCHANGE_DATE;
+    private static final String KEEP_SCHEMA = "--spring.jpa.hibernate.ddl-auto=update";
+    //endregion
+
+    private WarmStartRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestRunner.parse(args);
+        long latencyMillis = Long.parseLong(options.getOrDefault("latency", "50"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "100"));
+        int days = (int) Math.min(Long.parseLong(options.getOrDefault("days", "900")),
+                ChronoUnit.DAYS.between(FIRST_DATE, LocalDate.now()) + 1);
+        Path snapshot = Files.createTempDirectory("warm-start").resolve("rate-history.snapshot");
+
+        seed(snapshot, days);
+
+        List<Result> results = new ArrayList<>();
+        for (boolean fromSnapshot : new boolean[]{false, true}) {
+            long startNanos = System.nanoTime();
+
+            try (ConfigurableApplicationContext context = BenchmarkContext.startPostgresServer(
+                    KEEP_SCHEMA,
+                    "--rates.history.snapshot.enabled=" + fromSnapshot,
+                    "--rates.history.snapshot.path=" + snapshot,
+                    "--nbu.api.mock-latency=" + latencyMillis + "ms",
+                    "--logging.level.root=WARN")) {
+                long startupNanos = System.nanoTime() - startNanos;
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+                results.add(measure(fromSnapshot ? "snapshot" : "empty", port, startupNanos,
+                        Math.min(requests, days)));
+            }
+        }
+
+        System.out.printf("%n%-10s %12s %16s %16s %16s%n",
+                "start", "startup ms", "first resp ms", "first warm ms", "mean resp ms");
+        results.forEach(result -> System.out.printf("%-10s %12.1f %16.2f %16.1f %16.2f%n",
+                result.mode(), result.startupMillis(), result.firstResponseMillis(),
+                result.firstWarmMillis(), result.meanResponseMillis()));
+        Files.deleteIfExists(snapshot);
+    }
+
+    private static void seed(Path snapshot, int days) {
+        try (ConfigurableApplicationContext context = BenchmarkContext.startPostgres(
+                KEEP_SCHEMA,
+                "--rates.history.snapshot.enabled=true",
+                "--rates.history.snapshot.path=" + snapshot,
+                "--logging.level.root=WARN")) {
+            CurrencyRateService currencyRateService = context.getBean(CurrencyRateService.class);
+            context.getBean(CurrencyRateRepository.class).deleteAllInBatch();
+            List<CurrencyRate> template = BenchmarkData.dayOfRates(FIRST_DATE);
+
+            for (int day = 0; day < days; day++) {
+                LocalDate date = FIRST_DATE.plusDays(day);
+                currencyRateService.saveAllToDB(template.stream()
+                        .map(rate -> BenchmarkData.copyForDate(rate, date))
+                        .toList());
+            }
+        }
+    }
+
+    private static Result measure(String mode, int port, long startupNanos, int requests)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        long firstResponseNanos = 0;
+        long totalNanos = 0;
+
+        for (int i = 0; i < requests; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/currency-rates/by-date?date=" + FIRST_DATE.plusDays(i).format(DATE_FORMAT)))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            long elapsed = System.nanoTime() - start;
+
+            if (status >= 400) {
+                throw new IllegalStateException("Request for day " + i + " failed with status " + status);
+            }
+            if (i == 0) {
+                firstResponseNanos = elapsed;
+            }
+            totalNanos += elapsed;
+        }
+
+        return new Result(mode, startupNanos / 1_000_000.0, firstResponseNanos / 1_000_000.0,
+                (startupNanos + firstResponseNanos) / 1_000_000.0,
+                totalNanos / 1_000_000.0 / requests);
+    }
+
+    private record Result(String mode, double startupMillis, double firstResponseMillis,
+                          double firstWarmMillis, double meanResponseMillis) {
+    }
+}
@@ -1,14 +1,31 @@
 package currencyrates.currencyratesservice.config;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
+    @Bean(destroyMethod = "close")
+    public NbuHttpExecutor nbuHttpExecutor(
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads) {
+        return new NbuHttpExecutor(virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newCachedThreadPool());
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public HttpClient nbuHttpClient(
+            @Value("${nbu.client.connect-timeout}") Duration connectTimeout,
+            NbuHttpExecutor nbuHttpExecutor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(nbuHttpExecutor.executorService())
+                .build();
     }
 }
@@ -0,0 +1,15 @@
+package currencyrates.currencyratesservice.config;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClockConfig {
+    @Bean
+    public Clock rateClock(@Value("${rates.zone}") ZoneId zone) {
+        return Clock.system(zone);
+    }
+}
@@ -0,0 +1,52 @@
+package currencyrates.currencyratesservice.config;
+
+import currencyrates.currencyratesservice.service.cache.RateSnapshotCache;
+import currencyrates.currencyratesservice.service.cache.SerializedRatesCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public MeterBinder rateSnapshotCacheMetrics(RateSnapshotCache rateSnapshotCache) {
+        return registry -> {
+            Gauge.builder("rates.cache.size", rateSnapshotCache,
+                            cache -> cache.getStats().getSize())
+                    .description("Cached per-date rate snapshots")
+                    .register(registry);
+            FunctionCounter.builder("rates.cache.requests", rateSnapshotCache,
+                            cache -> cache.getStats().getHits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("rates.cache.requests", rateSnapshotCache,
+                            cache -> cache.getStats().getMisses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("rates.cache.evictions", rateSnapshotCache,
+                            cache -> cache.getStats().getEvictions())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder serializedRatesCacheMetrics(SerializedRatesCache serializedRatesCache) {
+        return registry -> {
+            Gauge.builder("rates.payload.cache.size", serializedRatesCache,
+                            cache -> cache.getStats().getBytes())
+                    .description("Bytes held by the serialized payload cache")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("rates.payload.cache.requests", serializedRatesCache,
+                            cache -> cache.getStats().getHits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("rates.payload.cache.requests", serializedRatesCache,
+                            cache -> cache.getStats().getMisses())
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package currencyrates.currencyratesservice.config;
+
+import java.util.concurrent.ExecutorService;
+
+public record NbuHttpExecutor(ExecutorService executorService) implements AutoCloseable {
+    @Override
+    public void close() {
+        executorService.close();
+    }
+}
@@ -0,0 +1,54 @@
+package currencyrates.currencyratesservice.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import currencyrates.currencyratesservice.dto.BackfillJobDto;
+import currencyrates.currencyratesservice.service.BackfillService;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/currency-rates/backfill")
+public class BackfillController {
+    //region Fields
+    private static final String FROM = "from";
+    private static final String TO = "to";
+    private static final String DATE_PATTERN = "yyyyMMdd";
+    private static final Logger logger = LogManager.getLogger(BackfillController.class);
+    private final BackfillService backfillService;
+    //endregion
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BackfillJobDto startBackfill(@RequestParam(FROM)
+                                        @DateTimeFormat(pattern = DATE_PATTERN)
+                                        LocalDate from,
+                                        @RequestParam(TO)
+                                        @DateTimeFormat(pattern = DATE_PATTERN)
+                                        LocalDate to) {
+        logger.info("Received request to backfill currency rates from {} to {}", from, to);
+
+        return backfillService.startBackfill(from, to);
+    }
+
+    @GetMapping("/{jobId}")
+    public BackfillJobDto getBackfillJob(@PathVariable String jobId) {
+        return backfillService.getJob(jobId);
+    }
+
+    @GetMapping
+    public List<BackfillJobDto> getBackfillJobs() {
+        return backfillService.getJobs();
+    }
+}
@@ -0,0 +1,53 @@
+package currencyrates.currencyratesservice.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import currencyrates.currencyratesservice.dto.ConversionRequestDto;
+import currencyrates.currencyratesservice.dto.ConversionResponseDto;
+import currencyrates.currencyratesservice.service.CurrencyConversionService;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/currency-rates")
+public class CurrencyConversionController {
+    //region Fields
+    private static final String FROM = "from";
+    private static final String TO = "to";
+    private static final String AMOUNT = "amount";
+    private static final String DATE = "date";
+    private static final String DATE_PATTERN = "yyyyMMdd";
+    private static final Logger logger = LogManager.getLogger(CurrencyConversionController.class);
+    private final CurrencyConversionService currencyConversionService;
+    //endregion
+
+    @GetMapping("/convert")
+    public ConversionResponseDto convert(@RequestParam(FROM) String from,
+                                         @RequestParam(TO) String to,
+                                         @RequestParam(AMOUNT) BigDecimal amount,
+                                         @RequestParam(value = DATE, required = false)
+                                         @DateTimeFormat(pattern = DATE_PATTERN)
+                                         LocalDate date) {
+        logger.debug("Received request to convert {} {} to {} on date: {}",
+                amount, from, to, date);
+
+        return currencyConversionService.convert(from, to, amount, date);
+    }
+
+    @PostMapping("/convert")
+    public List<ConversionResponseDto> convertAll(@RequestBody List<ConversionRequestDto> requests) {
+        logger.debug("Received request to convert {} amounts", requests.size());
+
+        return currencyConversionService.convertAll(requests);
+    }
+}
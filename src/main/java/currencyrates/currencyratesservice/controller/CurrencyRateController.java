@@ -1,21 +1,46 @@
 package currencyrates.currencyratesservice.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 import currencyrates.currencyratesservice.dto.CurrencyRateResponseDto;
+import currencyrates.currencyratesservice.dto.RateLookupRequestDto;
+import currencyrates.currencyratesservice.dto.RateStatsDto;
 import currencyrates.currencyratesservice.model.CurrencyRate;
 import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import currencyrates.currencyratesservice.service.cache.SerializedRates;
+import currencyrates.currencyratesservice.service.cache.SerializedRatesCache;
 import currencyrates.currencyratesservice.service.mapper.DtoMapper;
+import currencyrates.currencyratesservice.service.stream.CurrencyRateStreamWriter;
+import currencyrates.currencyratesservice.service.stream.RateExportFormat;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RequiredArgsConstructor
 @RestController
@@ -25,60 +50,202 @@ public class CurrencyRateController {
     private static final String DATE = "date";
     private static final String DATE_PATTERN = "yyyyMMdd";
     private static final String VALCODE = "valcode";
+    private static final String FROM = "from";
+    private static final String TO = "to";
+    private static final String FORMAT = "format";
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String ANY_ENCODING = "*";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
     private static final Logger logger = LogManager.getLogger(CurrencyRateController.class);
     private final CurrencyRateService currencyRateService;
     private final DtoMapper<CurrencyRate,
             CurrencyRateResponseDto> dtoMapper;
+    private final CurrencyRateStreamWriter currencyRateStreamWriter;
+    private final SerializedRatesCache serializedRatesCache;
+    private final Clock rateClock;
+    @Value("${rates.http.past-max-age}")
+    private Duration pastRatesMaxAge;
+    @Value("${rates.http.current-max-age}")
+    private Duration currentRatesMaxAge;
     //endregion
 
     @GetMapping("/current")
-    public List<CurrencyRateResponseDto> getCurrentRates() {
-        logger.info("Received request to get current currency rates");
+    public ResponseEntity<byte[]> getCurrentRates(WebRequest request) {
+        logger.debug("Received request to get current currency rates");
 
-        final List<CurrencyRateResponseDto> currencyRates =
-                currencyRateService.findCurrencyByCurrentDate()
-                .stream()
-                .map(dtoMapper::toDto)
-                .collect(Collectors.toList());
+        final RateSnapshot snapshot = currencyRateService.findSnapshotByDate(LocalDate.now(rateClock));
+
+        if (snapshot.isCacheable()
+                && request.checkNotModified(snapshot.getEtag(),
+                snapshot.lastModifiedMillis(rateClock.getZone()))) {
+            return notModified(snapshot.getExchangeDate());
+        }
 
-        logger.info("Responding with {} current currency rates", currencyRates.size());
+        logger.debug("Responding with {} current currency rates", snapshot.getRates().size());
 
-        return currencyRates;
+        return serializedResponse(snapshot, request);
     }
 
     @GetMapping("/by-date")
-    public List<CurrencyRateResponseDto> getRatesByDate(@RequestParam(DATE)
-                                                            @DateTimeFormat(pattern = DATE_PATTERN)
-                                                            LocalDate date) {
-        logger.info("Received request to get currency rates on date: {}", date);
+    public ResponseEntity<byte[]> getRatesByDate(@RequestParam(DATE)
+                                                 @DateTimeFormat(pattern = DATE_PATTERN)
+                                                 LocalDate date,
+                                                 WebRequest request) {
+        logger.debug("Received request to get currency rates on date: {}", date);
+
+        final RateSnapshot snapshot = currencyRateService.findSnapshotByDate(date);
+
+        if (snapshot.isCacheable()
+                && request.checkNotModified(snapshot.getEtag(),
+                snapshot.lastModifiedMillis(rateClock.getZone()))) {
+            return notModified(date);
+        }
+
+        logger.debug("Responding with {} currency rates on date: {}",
+                snapshot.getRates().size(), date);
+
+        return serializedResponse(snapshot, request);
+    }
+
+    @GetMapping("/by-currency-and-date")
+    public ResponseEntity<CurrencyRateResponseDto> getRatesByCurrencyAndDate(@RequestParam(value = VALCODE)
+                                                                             String currencyCode,
+                                                                             @RequestParam(DATE)
+                                                                             @DateTimeFormat(pattern = DATE_PATTERN)
+                                                                             LocalDate date,
+                                                                             WebRequest request) {
+        logger.debug("Received request to get currency rates "
+                + "for currency code: {} on date: {}", currencyCode, date);
+
+        final List<CurrencyRate> currencyRate =
+                List.of(currencyRateService.findRateByDateAndCurrency(currencyCode, date));
+
+        final boolean fallback = currencyRate.get(0).isFallback();
+
+        if (!fallback && request.checkNotModified(RateSnapshot.etagOf(currencyRate),
+                RateSnapshot.lastModifiedOf(currencyRate, rateClock.getZone()))) {
+            return notModified(date);
+        }
+
+        final CurrencyRateResponseDto dto = dtoMapper.toDto(currencyRate.get(0));
 
-        final List<CurrencyRateResponseDto> currencyRates =
-                currencyRateService.findAllRatesByDate(date)
+        logger.debug("Responding for currency rates "
+                + "for currency code: {} on date: {}", currencyCode, date);
+
+        return fallback
+                ? ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(dto)
+                : cacheableResponse(date, dto);
+    }
+
+    @PostMapping("/by-currencies-and-dates")
+    public List<CurrencyRateResponseDto> getRatesByCurrenciesAndDates(@RequestBody
+                                                                      List<RateLookupRequestDto>
+                                                                              lookups) {
+        logger.debug("Received request to get {} currency rates by currency code and date",
+                lookups.size());
+
+        return currencyRateService.findRatesByCurrenciesAndDates(lookups)
                 .stream()
                 .map(dtoMapper::toDto)
                 .collect(Collectors.toList());
+    }
 
-        logger.info("Responding with {} currency rates on date: {}", currencyRates.size(), date);
+    @GetMapping("/series")
+    public ResponseEntity<StreamingResponseBody> getRatesSeries(@RequestParam(VALCODE)
+                                                                String currencyCode,
+                                                                @RequestParam(FROM)
+                                                                @DateTimeFormat(pattern = DATE_PATTERN)
+                                                                LocalDate from,
+                                                                @RequestParam(TO)
+                                                                @DateTimeFormat(pattern = DATE_PATTERN)
+                                                                LocalDate to) {
+        logger.debug("Received request to get currency rates series "
+                + "for currency code: {} from {} to {}", currencyCode, from, to);
 
-        return currencyRates;
+        currencyRateService.ensureRatesForPeriod(from, to);
+
+        return streamingJson(outputStream -> currencyRateService.streamRatesSeries(
+                currencyCode, from, to,
+                currencyRates -> currencyRateStreamWriter.writeJsonArray(currencyRates,
+                        outputStream)));
     }
 
-    @GetMapping("/by-currency-and-date")
-    public CurrencyRateResponseDto getRatesByCurrencyAndDate(@RequestParam(value = VALCODE)
-                                                                 String currencyCode,
-                                                             @RequestParam(DATE)
+    @GetMapping("/by-period")
+    public ResponseEntity<StreamingResponseBody> getRatesByPeriod(@RequestParam(FROM)
+                                                                  @DateTimeFormat(pattern = DATE_PATTERN)
+                                                                  LocalDate from,
+                                                                  @RequestParam(TO)
+                                                                  @DateTimeFormat(pattern = DATE_PATTERN)
+                                                                  LocalDate to) {
+        logger.debug("Received request to get currency rates from {} to {}", from, to);
+
+        currencyRateService.ensureRatesForPeriod(from, to);
+
+        return streamingJson(outputStream -> currencyRateService.streamRatesByPeriod(
+                from, to,
+                currencyRates -> currencyRateStreamWriter.writeJsonArray(currencyRates,
+                        outputStream)));
+    }
+
+    @GetMapping("/stats")
+    public RateStatsDto getRateStats(@RequestParam(VALCODE)
+                                     String currencyCode,
+                                     @RequestParam(FROM)
+                                     @DateTimeFormat(pattern = DATE_PATTERN)
+                                     LocalDate from,
+                                     @RequestParam(TO)
+                                     @DateTimeFormat(pattern = DATE_PATTERN)
+                                     LocalDate to) {
+        logger.debug("Received request to get currency rate statistics "
+                + "for currency code: {} from {} to {}", currencyCode, from, to);
+
+        return currencyRateService.findRateStats(currencyCode, from, to);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRates(@RequestParam(FROM)
                                                              @DateTimeFormat(pattern = DATE_PATTERN)
-                                                             LocalDate date) {
-        logger.info("Received request to get currency rates "
-                + "for currency code: {} on date: {}", currencyCode, date);
+                                                             LocalDate from,
+                                                             @RequestParam(TO)
+                                                             @DateTimeFormat(pattern = DATE_PATTERN)
+                                                             LocalDate to,
+                                                             @RequestParam(value = VALCODE, required = false)
+                                                             List<String> currencyCodes,
+                                                             @RequestParam(value = FORMAT, defaultValue = "csv")
+                                                             String format,
+                                                             WebRequest request) {
+        logger.debug("Received request to export currency rates {} from {} to {} as {}",
+                currencyCodes, from, to, format);
 
-        final CurrencyRateResponseDto dto =
-                dtoMapper.toDto(currencyRateService.findRateByDateAndCurrency(currencyCode, date));
+        final RateExportFormat exportFormat = RateExportFormat.of(format);
+        currencyRateService.validateExportPeriod(from, to);
 
-        logger.info("Responding for currency rates "
-                + "for currency code: {} on date: {}", currencyCode, date);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("currency-rates-" + from.format(DateTimeFormatter.BASIC_ISO_DATE)
+                                + "-" + to.format(DateTimeFormatter.BASIC_ISO_DATE)
+                                + "." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        final StreamingResponseBody body = outputStream ->
+                export(from, to, currencyCodes, exportFormat, outputStream);
 
-        return dto;
+        if (!acceptsGzip(request)) {
+            return response.body(body);
+        }
+
+        final StreamingResponseBody gzipBody = outputStream -> {
+            GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            body.writeTo(gzipStream);
+            gzipStream.finish();
+        };
+
+        return response.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                .body(gzipBody);
     }
 
     @DeleteMapping("/by-date")
@@ -89,4 +256,94 @@ public class CurrencyRateController {
 
         currencyRateService.deleteByDate(date);
     }
+
+    private void export(LocalDate from,
+                        LocalDate to,
+                        List<String> currencyCodes,
+                        RateExportFormat format,
+                        OutputStream outputStream) throws IOException {
+        currencyRateService.streamRatesForExport(from, to, currencyCodes,
+                currencyRates -> currencyRateStreamWriter.write(format, currencyRates, outputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamingJson(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private ResponseEntity<byte[]> serializedResponse(RateSnapshot snapshot, WebRequest request) {
+        final SerializedRates payload = serializedRatesCache.get(snapshot);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(snapshot.isCacheable()
+                        ? cacheControlFor(snapshot.getExchangeDate())
+                        : CacheControl.noStore())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (payload.gzip() != null && acceptsGzip(request)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .body(payload.gzip());
+        }
+
+        return response.body(payload.json());
+    }
+
+    private boolean acceptsGzip(WebRequest request) {
+        final String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parameters = coding.split(";");
+            final String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+
+            if (name.equals(GZIP) || name.equals(X_GZIP)) {
+                gzipQuality = Math.max(gzipQuality, qualityOf(parameters));
+            } else if (name.equals(ANY_ENCODING)) {
+                wildcardQuality = qualityOf(parameters);
+            }
+        }
+
+        return gzipQuality >= 0 ? gzipQuality > 0 : wildcardQuality > 0;
+    }
+
+    private static double qualityOf(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            final String parameter = parameters[i].trim();
+
+            if (parameter.length() > 2 && (parameter.startsWith("q=") || parameter.startsWith("Q="))) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+
+        return 1;
+    }
+
+    private <T> ResponseEntity<T> cacheableResponse(LocalDate date, T body) {
+        return ResponseEntity.ok()
+                .cacheControl(cacheControlFor(date))
+                .body(body);
+    }
+
+    private <T> ResponseEntity<T> notModified(LocalDate date) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(cacheControlFor(date))
+                .build();
+    }
+
+    private CacheControl cacheControlFor(LocalDate date) {
+        return date.isBefore(LocalDate.now(rateClock))
+                ? CacheControl.maxAge(pastRatesMaxAge).cachePublic()
+                : CacheControl.maxAge(currentRatesMaxAge).cachePublic();
+    }
 }
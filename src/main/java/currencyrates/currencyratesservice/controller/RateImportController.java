@@ -0,0 +1,49 @@
+package currencyrates.currencyratesservice.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import currencyrates.currencyratesservice.dto.ImportReportDto;
+import currencyrates.currencyratesservice.service.RateImportService;
+import currencyrates.currencyratesservice.service.importer.RateImportFormat;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/currency-rates/import")
+public class RateImportController {
+    //region Fields
+    private static final String FORMAT = "format";
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final Logger logger = LogManager.getLogger(RateImportController.class);
+    private final RateImportService rateImportService;
+    //endregion
+
+    @PostMapping
+    public ImportReportDto importRates(@RequestParam(value = FORMAT, defaultValue = "json")
+                                       String format,
+                                       @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false)
+                                       String contentEncoding,
+                                       InputStream body) throws IOException {
+        logger.info("Received request to import currency rates as {}", format);
+
+        final RateImportFormat importFormat = RateImportFormat.of(format);
+
+        if (GZIP.equalsIgnoreCase(contentEncoding)) {
+            try (InputStream input = new GZIPInputStream(body, GZIP_BUFFER_SIZE)) {
+                return rateImportService.importRates(input, importFormat);
+            }
+        }
+
+        return rateImportService.importRates(body, importFormat);
+    }
+}
@@ -0,0 +1,94 @@
+package currencyrates.currencyratesservice.controller;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import currencyrates.currencyratesservice.dto.CurrencyRateResponseDto;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.ReactiveCurrencyRateService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import currencyrates.currencyratesservice.service.mapper.DtoMapper;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/reactive/currency-rates")
+@ConditionalOnProperty(name = "rates.reactive.enabled", havingValue = "true")
+public class ReactiveCurrencyRateController {
+    //region Fields
+    private static final String DATE = "date";
+    private static final String DATE_PATTERN = "yyyyMMdd";
+    private static final String VALCODE = "valcode";
+    private static final String FROM = "from";
+    private static final String TO = "to";
+    private static final Logger logger = LogManager.getLogger(ReactiveCurrencyRateController.class);
+    private final ReactiveCurrencyRateService reactiveCurrencyRateService;
+    private final DtoMapper<CurrencyRate,
+            CurrencyRateResponseDto> dtoMapper;
+    private final Clock rateClock;
+    //endregion
+
+    @GetMapping("/current")
+    public Mono<List<CurrencyRateResponseDto>> getCurrentRates() {
+        logger.debug("Received reactive request to get current currency rates");
+
+        return reactiveCurrencyRateService.findSnapshotByDate(LocalDate.now(rateClock))
+                .map(this::toDtos);
+    }
+
+    @GetMapping("/by-date")
+    public Mono<List<CurrencyRateResponseDto>> getRatesByDate(@RequestParam(DATE)
+                                                              @DateTimeFormat(pattern = DATE_PATTERN)
+                                                              LocalDate date) {
+        logger.debug("Received reactive request to get currency rates on date: {}", date);
+
+        return reactiveCurrencyRateService.findSnapshotByDate(date)
+                .map(this::toDtos);
+    }
+
+    @GetMapping("/by-currency-and-date")
+    public Mono<CurrencyRateResponseDto> getRatesByCurrencyAndDate(@RequestParam(VALCODE)
+                                                                   String currencyCode,
+                                                                   @RequestParam(DATE)
+                                                                   @DateTimeFormat(pattern = DATE_PATTERN)
+                                                                   LocalDate date) {
+        logger.debug("Received reactive request to get currency rates "
+                + "for currency code: {} on date: {}", currencyCode, date);
+
+        return reactiveCurrencyRateService.findRateByDateAndCurrency(currencyCode, date)
+                .map(dtoMapper::toDto);
+    }
+
+    @GetMapping(value = "/series", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CurrencyRateResponseDto> getRatesSeries(@RequestParam(VALCODE)
+                                                        String currencyCode,
+                                                        @RequestParam(FROM)
+                                                        @DateTimeFormat(pattern = DATE_PATTERN)
+                                                        LocalDate from,
+                                                        @RequestParam(TO)
+                                                        @DateTimeFormat(pattern = DATE_PATTERN)
+                                                        LocalDate to) {
+        logger.debug("Received reactive request to get currency rates series "
+                + "for currency code: {} from {} to {}", currencyCode, from, to);
+
+        return reactiveCurrencyRateService.findRatesSeries(currencyCode, from, to)
+                .map(dtoMapper::toDto);
+    }
+
+    private List<CurrencyRateResponseDto> toDtos(RateSnapshot snapshot) {
+        return snapshot.getRates().stream()
+                .map(dtoMapper::toDto)
+                .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package currencyrates.currencyratesservice.controller;
+
+import currencyrates.currencyratesservice.dto.HistoryStoreStatsDto;
+import currencyrates.currencyratesservice.dto.PayloadCacheStatsDto;
+import currencyrates.currencyratesservice.dto.PrewarmStatusDto;
+import currencyrates.currencyratesservice.dto.RateCacheStatsDto;
+import currencyrates.currencyratesservice.service.RatesPrewarmService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshotCache;
+import currencyrates.currencyratesservice.service.cache.SerializedRatesCache;
+import currencyrates.currencyratesservice.service.history.RateHistoryStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/service-status")
+public class ServiceStatusController {
+    //region Fields
+    private final RateSnapshotCache rateSnapshotCache;
+    private final SerializedRatesCache serializedRatesCache;
+    private final RatesPrewarmService ratesPrewarmService;
+    private final RateHistoryStore rateHistoryStore;
+    //endregion
+
+    @GetMapping("/rate-cache")
+    public RateCacheStatsDto getRateCacheStats() {
+        return rateSnapshotCache.getStats();
+    }
+
+    @GetMapping("/payload-cache")
+    public PayloadCacheStatsDto getPayloadCacheStats() {
+        return serializedRatesCache.getStats();
+    }
+
+    @GetMapping("/prewarm")
+    public PrewarmStatusDto getPrewarmStatus() {
+        return ratesPrewarmService.getStatus();
+    }
+
+    @GetMapping("/history-store")
+    public HistoryStoreStatsDto getHistoryStoreStats() {
+        return rateHistoryStore.getStats();
+    }
+}
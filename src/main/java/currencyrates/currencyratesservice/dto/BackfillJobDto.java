@@ -0,0 +1,45 @@
+package currencyrates.currencyratesservice.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class BackfillJobDto {
+    @JsonProperty("job_id")
+    private String jobId;
+    @JsonProperty("status")
+    private String status;
+    @JsonProperty("from")
+    @JsonFormat(pattern = "dd.MM.yyyy")
+    private LocalDate from;
+    @JsonProperty("to")
+    @JsonFormat(pattern = "dd.MM.yyyy")
+    private LocalDate to;
+    @JsonProperty("total_days")
+    private long totalDays;
+    @JsonProperty("skipped_days")
+    private long skippedDays;
+    @JsonProperty("persisted_days")
+    private long persistedDays;
+    @JsonProperty("persisted_rows")
+    private long persistedRows;
+    @JsonProperty("empty_days")
+    private long emptyDays;
+    @JsonProperty("failed_days")
+    private long failedDays;
+    @JsonProperty("days_per_second")
+    private double daysPerSecond;
+    @JsonProperty("rows_per_second")
+    private double rowsPerSecond;
+    @JsonProperty("started_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+    @JsonProperty("finished_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+    @JsonProperty("error")
+    private String error;
+}
@@ -0,0 +1,20 @@
+package currencyrates.currencyratesservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class ConversionRequestDto {
+    @JsonProperty("from")
+    private String from;
+    @JsonProperty("to")
+    private String to;
+    @JsonProperty("amount")
+    private BigDecimal amount;
+    @JsonProperty("date")
+    @JsonFormat(pattern = "yyyyMMdd")
+    private LocalDate date;
+}
@@ -0,0 +1,24 @@
+package currencyrates.currencyratesservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class ConversionResponseDto {
+    @JsonProperty("from")
+    private String from;
+    @JsonProperty("to")
+    private String to;
+    @JsonProperty("amount")
+    private BigDecimal amount;
+    @JsonProperty("rate")
+    private BigDecimal rate;
+    @JsonProperty("converted_amount")
+    private BigDecimal convertedAmount;
+    @JsonProperty("exchange_date")
+    @JsonFormat(pattern = "dd.MM.yyyy")
+    private LocalDate exchangeDate;
+}
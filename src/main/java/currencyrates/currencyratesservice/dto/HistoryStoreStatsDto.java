@@ -0,0 +1,21 @@
+package currencyrates.currencyratesservice.dto;
+
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class HistoryStoreStatsDto {
+    @JsonProperty("enabled")
+    private boolean enabled;
+    @JsonProperty("ready")
+    private boolean ready;
+    @JsonProperty("snapshot_taken_at")
+    private LocalDateTime snapshotTakenAt;
+    @JsonProperty("currencies")
+    private int currencies;
+    @JsonProperty("points")
+    private long points;
+    @JsonProperty("off_heap_bytes")
+    private long offHeapBytes;
+}
@@ -0,0 +1,25 @@
+package currencyrates.currencyratesservice.dto;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class ImportReportDto {
+    @JsonProperty("format")
+    private String format;
+    @JsonProperty("rows_read")
+    private long rowsRead;
+    @JsonProperty("rows_imported")
+    private long rowsImported;
+    @JsonProperty("rows_rejected")
+    private long rowsRejected;
+    @JsonProperty("rows_superseded")
+    private long rowsSuperseded;
+    @JsonProperty("elapsed_ms")
+    private long elapsedMillis;
+    @JsonProperty("rows_per_second")
+    private double rowsPerSecond;
+    @JsonProperty("rejected_lines")
+    private List<RejectedLineDto> rejectedLines;
+}
@@ -0,0 +1,20 @@
+package currencyrates.currencyratesservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class PayloadCacheStatsDto {
+    @JsonProperty("entries")
+    private int entries;
+    @JsonProperty("bytes")
+    private long bytes;
+    @JsonProperty("max_bytes")
+    private long maxBytes;
+    @JsonProperty("hits")
+    private long hits;
+    @JsonProperty("misses")
+    private long misses;
+    @JsonProperty("evictions")
+    private long evictions;
+}
@@ -0,0 +1,22 @@
+package currencyrates.currencyratesservice.dto;
+
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class PrewarmStatusDto {
+    @JsonProperty("last_success")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastSuccess;
+    @JsonProperty("last_attempt")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastAttempt;
+    @JsonProperty("lag_seconds")
+    private Long lagSeconds;
+    @JsonProperty("consecutive_failures")
+    private int consecutiveFailures;
+    @JsonProperty("last_error")
+    private String lastError;
+}
@@ -0,0 +1,18 @@
+package currencyrates.currencyratesservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class RateCacheStatsDto {
+    @JsonProperty("size")
+    private int size;
+    @JsonProperty("max_size")
+    private int maxSize;
+    @JsonProperty("hits")
+    private long hits;
+    @JsonProperty("misses")
+    private long misses;
+    @JsonProperty("evictions")
+    private long evictions;
+}
@@ -0,0 +1,15 @@
+package currencyrates.currencyratesservice.dto;
+
+import java.time.LocalDate;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class RateLookupRequestDto {
+    @JsonProperty("valcode")
+    private String valcode;
+    @JsonProperty("date")
+    @JsonFormat(pattern = "yyyyMMdd")
+    private LocalDate date;
+}
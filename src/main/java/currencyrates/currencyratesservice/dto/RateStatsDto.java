@@ -0,0 +1,43 @@
+package currencyrates.currencyratesservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class RateStatsDto {
+    @JsonProperty("currency_code")
+    private String currencyCode;
+    @JsonProperty("from")
+    @JsonFormat(pattern = "dd.MM.yyyy")
+    private LocalDate from;
+    @JsonProperty("to")
+    @JsonFormat(pattern = "dd.MM.yyyy")
+    private LocalDate to;
+    @JsonProperty("days")
+    private long days;
+    @JsonProperty("min_rate")
+    private BigDecimal minRate;
+    @JsonProperty("max_rate")
+    private BigDecimal maxRate;
+    @JsonProperty("avg_rate")
+    private BigDecimal avgRate;
+    @JsonProperty("stddev_rate")
+    private BigDecimal stddevRate;
+    @JsonProperty("first_rate")
+    private BigDecimal firstRate;
+    @JsonProperty("first_date")
+    @JsonFormat(pattern = "dd.MM.yyyy")
+    private LocalDate firstDate;
+    @JsonProperty("last_rate")
+    private BigDecimal lastRate;
+    @JsonProperty("last_date")
+    @JsonFormat(pattern = "dd.MM.yyyy")
+    private LocalDate lastDate;
+    @JsonProperty("change")
+    private BigDecimal change;
+    @JsonProperty("change_percent")
+    private BigDecimal changePercent;
+}
@@ -0,0 +1,17 @@
+package currencyrates.currencyratesservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class RejectedLineDto {
+    @JsonProperty("line")
+    private long line;
+    @JsonProperty("reason")
+    private String reason;
+
+    public RejectedLineDto(long line, String reason) {
+        this.line = line;
+        this.reason = reason;
+    }
+}
@@ -66,6 +66,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(NbuUnavailableException.class)
+    public ResponseEntity<ApiError> handleNbuUnavailableException(
+            NbuUnavailableException ex,
+            WebRequest request) {
+        logger.error("NBU unavailable: ", ex);
+
+        ApiError apiError = new ApiError(LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getDescription(false).replace(URI, EMPTY_STRING));
+
+        return new ResponseEntity<>(apiError, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ApiError> handleNoSuchElementException(
             NoSuchElementException ex,
@@ -0,0 +1,11 @@
+package currencyrates.currencyratesservice.exception;
+
+public class NbuUnavailableException extends RuntimeException {
+    public NbuUnavailableException(String message) {
+        super(message);
+    }
+
+    public NbuUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,21 +4,35 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 @Entity
 @Data
-@Table(name = "currency_rates")
+@Table(name = "currency_rates", indexes = {
+        @Index(name = "uk_currency_rates_cc_exchange_date",
+                columnList = "cc, exchange_date",
+                unique = true),
+        @Index(name = "idx_currency_rates_exchange_date", columnList = "exchange_date")
+})
 public class CurrencyRate {
+    public static final int ID_ALLOCATION_SIZE = 50;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "currency_rates_seq")
+    @SequenceGenerator(name = "currency_rates_seq",
+            sequenceName = "currency_rates_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     private Long r030;
     private String txt;
@@ -31,4 +45,8 @@ public class CurrencyRate {
     @Column(name = "receiving_date")
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime receivingDate;
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private boolean fallback;
 }
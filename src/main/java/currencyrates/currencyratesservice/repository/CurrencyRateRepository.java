@@ -1,17 +1,53 @@
 package currencyrates.currencyratesservice.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import currencyrates.currencyratesservice.model.CurrencyRate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CurrencyRateRepository extends JpaRepository<CurrencyRate, Long> {
+public interface CurrencyRateRepository extends JpaRepository<CurrencyRate, Long>,
+        CurrencyRateUpsertRepository, CurrencyRateScanRepository, CurrencyRateStatsRepository {
     List<CurrencyRate> findAllByExchangeDate(LocalDate exchangeDate);
 
+    List<CurrencyRate> findAllByExchangeDateIn(Collection<LocalDate> exchangeDates);
+
     Optional<CurrencyRate> findCurrencyRateByCcAndExchangeDate(String currencyCode, LocalDate date);
 
+    List<CurrencyRate> findAllByCcAndExchangeDateBetweenOrderByExchangeDate(String currencyCode,
+                                                                            LocalDate from,
+                                                                            LocalDate to);
+
     int deleteAllByExchangeDate(LocalDate date);
+
+    @Query("select distinct cr.exchangeDate from CurrencyRate cr "
+            + "where cr.exchangeDate between :from and :to")
+    List<LocalDate> findExchangeDatesBetween(@Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<CurrencyRate> streamAllByCcAndExchangeDateBetweenOrderByExchangeDate(
+            String currencyCode,
+            LocalDate from,
+            LocalDate to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<CurrencyRate> streamAllByExchangeDateBetweenOrderByExchangeDateAscCcAsc(
+            LocalDate from,
+            LocalDate to);
 }
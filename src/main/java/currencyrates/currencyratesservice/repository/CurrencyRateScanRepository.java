@@ -0,0 +1,21 @@
+package currencyrates.currencyratesservice.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+
+public interface CurrencyRateScanRepository {
+    long scanAll(Consumer<CurrencyRate> consumer);
+
+    long scanReceivedSince(LocalDateTime since,
+                           Collection<LocalDate> exchangeDates,
+                           Consumer<CurrencyRate> consumer);
+
+    Map<LocalDate, Integer> countByExchangeDate();
+
+    Stream<CurrencyRate> streamPeriod(LocalDate from, LocalDate to, Collection<String> currencyCodes);
+}
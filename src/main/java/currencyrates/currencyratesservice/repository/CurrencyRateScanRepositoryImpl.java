@@ -0,0 +1,126 @@
+package currencyrates.currencyratesservice.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class CurrencyRateScanRepositoryImpl implements CurrencyRateScanRepository {
+    //region Fields
+    private static final int FETCH_SIZE = 1000;
+    private static final String SELECT_SQL = "SELECT r030, txt, rate, cc, exchange_date, receiving_date "
+            + "FROM currency_rates ";
+    private static final String ORDER_SQL = "ORDER BY cc, exchange_date";
+    private static final String SCAN_SQL = SELECT_SQL + ORDER_SQL;
+    private static final String SCAN_RECEIVED_SINCE_SQL = SELECT_SQL
+            + "WHERE receiving_date >= ? OR receiving_date IS NULL OR exchange_date = ANY (?) "
+            + ORDER_SQL;
+    private static final String COUNT_BY_EXCHANGE_DATE_SQL = "SELECT exchange_date, COUNT(*) AS rates "
+            + "FROM currency_rates GROUP BY exchange_date";
+    private static final String PERIOD_SQL = SELECT_SQL
+            + "WHERE exchange_date BETWEEN ? AND ? ";
+    private static final String PERIOD_ORDER_SQL = "ORDER BY exchange_date, cc";
+    private static final String STREAM_PERIOD_SQL = PERIOD_SQL + PERIOD_ORDER_SQL;
+    private static final String STREAM_PERIOD_BY_CODES_SQL = PERIOD_SQL
+            + "AND cc = ANY (?) " + PERIOD_ORDER_SQL;
+    private final JdbcTemplate jdbcTemplate;
+    //endregion
+
+    @Override
+    @Transactional(readOnly = true)
+    public long scanAll(Consumer<CurrencyRate> consumer) {
+        return scan(SCAN_SQL, null, List.of(), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long scanReceivedSince(LocalDateTime since,
+                                  Collection<LocalDate> exchangeDates,
+                                  Consumer<CurrencyRate> consumer) {
+        return scan(SCAN_RECEIVED_SINCE_SQL, since, exchangeDates, consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<LocalDate, Integer> countByExchangeDate() {
+        Map<LocalDate, Integer> counts = new HashMap<>();
+
+        jdbcTemplate.query(COUNT_BY_EXCHANGE_DATE_SQL, resultSet -> {
+            counts.put(resultSet.getObject("exchange_date", LocalDate.class),
+                    resultSet.getInt("rates"));
+        });
+
+        return counts;
+    }
+
+    @Override
+    public Stream<CurrencyRate> streamPeriod(LocalDate from,
+                                             LocalDate to,
+                                             Collection<String> currencyCodes) {
+        boolean filtered = currencyCodes != null && !currencyCodes.isEmpty();
+
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    filtered ? STREAM_PERIOD_BY_CODES_SQL : STREAM_PERIOD_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setObject(1, from);
+            statement.setObject(2, to);
+            if (filtered) {
+                statement.setArray(3, connection.createArrayOf("varchar", currencyCodes.toArray()));
+            }
+
+            return statement;
+        }, (resultSet, rowNum) -> toCurrencyRate(resultSet));
+    }
+
+    private long scan(String sql,
+                      LocalDateTime since,
+                      Collection<LocalDate> exchangeDates,
+                      Consumer<CurrencyRate> consumer) {
+        AtomicLong rows = new AtomicLong();
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            if (since != null) {
+                statement.setObject(1, since);
+                statement.setArray(2, connection.createArrayOf("date",
+                        exchangeDates.stream().map(Date::valueOf).toArray()));
+            }
+
+            return statement;
+        }, resultSet -> {
+            consumer.accept(toCurrencyRate(resultSet));
+            rows.incrementAndGet();
+        });
+
+        return rows.get();
+    }
+
+    private static CurrencyRate toCurrencyRate(ResultSet resultSet) throws SQLException {
+        CurrencyRate rate = new CurrencyRate();
+        long r030 = resultSet.getLong("r030");
+        rate.setR030(resultSet.wasNull() ? null : r030);
+        rate.setTxt(resultSet.getString("txt"));
+        rate.setRate(resultSet.getBigDecimal("rate"));
+        rate.setCc(resultSet.getString("cc"));
+        rate.setExchangeDate(resultSet.getObject("exchange_date", LocalDate.class));
+        rate.setReceivingDate(resultSet.getObject("receiving_date", LocalDateTime.class));
+
+        return rate;
+    }
+}
@@ -0,0 +1,8 @@
+package currencyrates.currencyratesservice.repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface CurrencyRateStatsRepository {
+    Optional<RateAggregate> aggregateRates(String currencyCode, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,44 @@
+package currencyrates.currencyratesservice.repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class CurrencyRateStatsRepositoryImpl implements CurrencyRateStatsRepository {
+    //region Fields
+    private static final String AGGREGATE_SQL = "SELECT count(*) AS days, "
+            + "min(rate) AS min_rate, "
+            + "max(rate) AS max_rate, "
+            + "avg(rate) AS avg_rate, "
+            + "stddev_samp(rate) AS stddev_rate, "
+            + "(array_agg(rate ORDER BY exchange_date))[1] AS first_rate, "
+            + "(array_agg(rate ORDER BY exchange_date DESC))[1] AS last_rate, "
+            + "min(exchange_date) AS first_date, "
+            + "max(exchange_date) AS last_date "
+            + "FROM currency_rates "
+            + "WHERE cc = ? AND exchange_date BETWEEN ? AND ?";
+    private final JdbcTemplate jdbcTemplate;
+    //endregion
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RateAggregate> aggregateRates(String currencyCode, LocalDate from, LocalDate to) {
+        RateAggregate aggregate = jdbcTemplate.queryForObject(AGGREGATE_SQL,
+                (resultSet, rowNum) -> new RateAggregate(
+                        resultSet.getLong("days"),
+                        resultSet.getBigDecimal("min_rate"),
+                        resultSet.getBigDecimal("max_rate"),
+                        resultSet.getBigDecimal("avg_rate"),
+                        resultSet.getBigDecimal("stddev_rate"),
+                        resultSet.getBigDecimal("first_rate"),
+                        resultSet.getBigDecimal("last_rate"),
+                        resultSet.getObject("first_date", LocalDate.class),
+                        resultSet.getObject("last_date", LocalDate.class)),
+                currencyCode, from, to);
+
+        return aggregate == null || aggregate.days() == 0 ? Optional.empty() : Optional.of(aggregate);
+    }
+}
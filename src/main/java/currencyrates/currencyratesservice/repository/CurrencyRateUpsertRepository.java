@@ -0,0 +1,10 @@
+package currencyrates.currencyratesservice.repository;
+
+import java.util.List;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+
+public interface CurrencyRateUpsertRepository {
+    // Ids are drawn from currency_rates_seq in blocks of CurrencyRate.ID_ALLOCATION_SIZE
+    // and are not written back to the passed entities.
+    int upsertAll(List<CurrencyRate> currencyRates);
+}
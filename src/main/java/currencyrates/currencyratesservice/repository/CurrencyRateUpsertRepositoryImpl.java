@@ -0,0 +1,91 @@
+package currencyrates.currencyratesservice.repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class CurrencyRateUpsertRepositoryImpl implements CurrencyRateUpsertRepository {
+    //region Fields
+    private static final int BATCH_SIZE = 500;
+    private static final String NEXT_ID_BLOCKS_SQL =
+            "SELECT nextval('currency_rates_seq') FROM generate_series(1, ?)";
+    private static final String UPSERT_SQL = "INSERT INTO currency_rates "
+            + "(id, r030, txt, rate, cc, exchange_date, receiving_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (cc, exchange_date) DO UPDATE SET "
+            + "r030 = EXCLUDED.r030, "
+            + "txt = EXCLUDED.txt, "
+            + "rate = EXCLUDED.rate, "
+            + "receiving_date = EXCLUDED.receiving_date";
+    private final JdbcTemplate jdbcTemplate;
+    //endregion
+
+    @Override
+    @Transactional
+    public int upsertAll(List<CurrencyRate> currencyRates) {
+        List<CurrencyRate> uniqueRates = deduplicate(currencyRates);
+
+        if (uniqueRates.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = allocateIds(uniqueRates.size());
+        List<IdentifiedRate> rows = new ArrayList<>(uniqueRates.size());
+
+        for (int i = 0; i < uniqueRates.size(); i++) {
+            rows.add(new IdentifiedRate(ids.get(i), uniqueRates.get(i)));
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            CurrencyRate rate = row.rate();
+
+            ps.setLong(1, row.id());
+            ps.setObject(2, rate.getR030(), Types.BIGINT);
+            ps.setString(3, rate.getTxt());
+            ps.setBigDecimal(4, rate.getRate());
+            ps.setString(5, rate.getCc());
+            ps.setObject(6, rate.getExchangeDate());
+            ps.setObject(7, rate.getReceivingDate());
+        });
+
+        return uniqueRates.size();
+    }
+
+    static List<CurrencyRate> deduplicate(List<CurrencyRate> currencyRates) {
+        Map<String, CurrencyRate> ratesByKey = new LinkedHashMap<>(currencyRates.size() * 2);
+
+        for (CurrencyRate rate : currencyRates) {
+            ratesByKey.put(rate.getCc() + '|' + rate.getExchangeDate(), rate);
+        }
+
+        return new ArrayList<>(ratesByKey.values());
+    }
+
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+
+        while (ids.size() < count) {
+            int blocks = Math.ceilDiv(count - ids.size(), CurrencyRate.ID_ALLOCATION_SIZE);
+
+            for (Long blockEnd : jdbcTemplate.queryForList(NEXT_ID_BLOCKS_SQL, Long.class, blocks)) {
+                long blockStart = Math.max(1, blockEnd - CurrencyRate.ID_ALLOCATION_SIZE + 1);
+
+                for (long id = blockStart; id <= blockEnd && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    private record IdentifiedRate(long id, CurrencyRate rate) {
+    }
+}
@@ -0,0 +1,15 @@
+package currencyrates.currencyratesservice.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RateAggregate(long days,
+                            BigDecimal minRate,
+                            BigDecimal maxRate,
+                            BigDecimal avgRate,
+                            BigDecimal stddevRate,
+                            BigDecimal firstRate,
+                            BigDecimal lastRate,
+                            LocalDate firstDate,
+                            LocalDate lastDate) {
+}
@@ -0,0 +1,13 @@
+package currencyrates.currencyratesservice.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import currencyrates.currencyratesservice.dto.BackfillJobDto;
+
+public interface BackfillService {
+    BackfillJobDto startBackfill(LocalDate from, LocalDate to);
+
+    BackfillJobDto getJob(String jobId);
+
+    List<BackfillJobDto> getJobs();
+}
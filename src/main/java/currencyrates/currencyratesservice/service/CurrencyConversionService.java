@@ -0,0 +1,13 @@
+package currencyrates.currencyratesservice.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import currencyrates.currencyratesservice.dto.ConversionRequestDto;
+import currencyrates.currencyratesservice.dto.ConversionResponseDto;
+
+public interface CurrencyConversionService {
+    ConversionResponseDto convert(String from, String to, BigDecimal amount, LocalDate date);
+
+    List<ConversionResponseDto> convertAll(List<ConversionRequestDto> requests);
+}
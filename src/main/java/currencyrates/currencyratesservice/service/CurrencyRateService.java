@@ -1,10 +1,18 @@
 package currencyrates.currencyratesservice.service;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import currencyrates.currencyratesservice.dto.RateLookupRequestDto;
+import currencyrates.currencyratesservice.dto.RateStatsDto;
 import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import currencyrates.currencyratesservice.service.stream.RateStreamConsumer;
 
 public interface CurrencyRateService {
+    // Saves upsert by (cc, exchange_date) and return the given entities, whose id stays null.
     CurrencyRate saveRateToDB(CurrencyRate currencyRate);
 
     List<CurrencyRate> saveAllToDB(List<CurrencyRate> currencyRates);
@@ -13,7 +21,37 @@ public interface CurrencyRateService {
 
     List<CurrencyRate> findAllRatesByDate(LocalDate date);
 
+    RateSnapshot findSnapshotByDate(LocalDate date);
+
+    Optional<RateSnapshot> findStoredSnapshot(LocalDate date);
+
+    RateSnapshot saveFetchedSnapshot(LocalDate date, List<CurrencyRate> fetchedRates);
+
     CurrencyRate findRateByDateAndCurrency(String currencyCode, LocalDate date);
 
+    List<CurrencyRate> findRatesByCurrenciesAndDates(List<RateLookupRequestDto> lookups);
+
     void deleteByDate(LocalDate date);
+
+    void ensureRatesForPeriod(LocalDate from, LocalDate to);
+
+    List<CurrencyRate> findRatesSeries(String currencyCode, LocalDate from, LocalDate to);
+
+    void streamRatesSeries(String currencyCode,
+                           LocalDate from,
+                           LocalDate to,
+                           RateStreamConsumer consumer) throws IOException;
+
+    void streamRatesByPeriod(LocalDate from,
+                             LocalDate to,
+                             RateStreamConsumer consumer) throws IOException;
+
+    void validateExportPeriod(LocalDate from, LocalDate to);
+
+    void streamRatesForExport(LocalDate from,
+                              LocalDate to,
+                              Collection<String> currencyCodes,
+                              RateStreamConsumer consumer) throws IOException;
+
+    RateStatsDto findRateStats(String currencyCode, LocalDate from, LocalDate to);
 }
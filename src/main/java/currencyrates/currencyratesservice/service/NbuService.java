@@ -2,6 +2,7 @@ package currencyrates.currencyratesservice.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import currencyrates.currencyratesservice.model.CurrencyRate;
 
 public interface NbuService {
@@ -9,5 +10,9 @@ public interface NbuService {
 
     List<CurrencyRate> fetchRatesForDate(LocalDate date);
 
+    CompletableFuture<List<CurrencyRate>> fetchCurrentRatesAsync();
+
+    CompletableFuture<List<CurrencyRate>> fetchRatesForDateAsync(LocalDate date);
+
     CurrencyRate fetchRateForCurrencyOnDate(String currencyCode, LocalDate date);
 }
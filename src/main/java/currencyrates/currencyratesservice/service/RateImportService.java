@@ -0,0 +1,10 @@
+package currencyrates.currencyratesservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import currencyrates.currencyratesservice.dto.ImportReportDto;
+import currencyrates.currencyratesservice.service.importer.RateImportFormat;
+
+public interface RateImportService {
+    ImportReportDto importRates(InputStream input, RateImportFormat format) throws IOException;
+}
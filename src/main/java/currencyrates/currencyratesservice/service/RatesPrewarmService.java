@@ -0,0 +1,9 @@
+package currencyrates.currencyratesservice.service;
+
+import currencyrates.currencyratesservice.dto.PrewarmStatusDto;
+
+public interface RatesPrewarmService {
+    void prewarmCurrentRates();
+
+    PrewarmStatusDto getStatus();
+}
@@ -0,0 +1,15 @@
+package currencyrates.currencyratesservice.service;
+
+import java.time.LocalDate;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCurrencyRateService {
+    Mono<RateSnapshot> findSnapshotByDate(LocalDate date);
+
+    Mono<CurrencyRate> findRateByDateAndCurrency(String currencyCode, LocalDate date);
+
+    Flux<CurrencyRate> findRatesSeries(String currencyCode, LocalDate from, LocalDate to);
+}
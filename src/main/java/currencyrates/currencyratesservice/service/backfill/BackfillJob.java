@@ -0,0 +1,72 @@
+package currencyrates.currencyratesservice.service.backfill;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+
+@Getter
+public class BackfillJob {
+    //region Fields
+    private final String id;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final AtomicLong persistedDays = new AtomicLong();
+    private final AtomicLong persistedRows = new AtomicLong();
+    private final AtomicLong emptyDays = new AtomicLong();
+    private final AtomicLong failedDays = new AtomicLong();
+    private volatile Status status = Status.QUEUED;
+    private volatile long totalDays;
+    private volatile long skippedDays;
+    private volatile long startedAtNanos;
+    private volatile long finishedAtNanos;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    //endregion
+
+    public BackfillJob(String id, LocalDate from, LocalDate to) {
+        this.id = id;
+        this.from = from;
+        this.to = to;
+    }
+
+    public void start(long totalDays, long skippedDays) {
+        this.totalDays = totalDays;
+        this.skippedDays = skippedDays;
+        this.startedAt = LocalDateTime.now();
+        this.startedAtNanos = System.nanoTime();
+        this.status = Status.RUNNING;
+    }
+
+    public void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    public void fail(String error) {
+        finish(Status.FAILED, error);
+    }
+
+    public double getElapsedSeconds() {
+        if (startedAtNanos == 0) {
+            return 0;
+        }
+        long end = finishedAtNanos == 0 ? System.nanoTime() : finishedAtNanos;
+
+        return (end - startedAtNanos) / 1_000_000_000d;
+    }
+
+    private void finish(Status status, String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.finishedAtNanos = System.nanoTime();
+        this.status = status;
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
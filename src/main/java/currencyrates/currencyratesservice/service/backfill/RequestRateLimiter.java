@@ -0,0 +1,34 @@
+package currencyrates.currencyratesservice.service.backfill;
+
+import java.util.concurrent.TimeUnit;
+
+public class RequestRateLimiter {
+    //region Fields
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private final long intervalNanos;
+    private long nextFreeSlotNanos;
+    //endregion
+
+    public RequestRateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Request rate must be positive");
+        }
+        this.intervalNanos = (long) (NANOS_PER_SECOND / permitsPerSecond);
+        this.nextFreeSlotNanos = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeSlotNanos);
+            nextFreeSlotNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
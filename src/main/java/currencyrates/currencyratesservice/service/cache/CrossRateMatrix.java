@@ -0,0 +1,83 @@
+package currencyrates.currencyratesservice.service.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+
+public final class CrossRateMatrix {
+    //region Fields
+    public static final int RATE_SCALE = 10;
+    public static final int AMOUNT_SCALE = 4;
+    public static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_EVEN;
+    public static final int NOT_FOUND = -1;
+    public static final String BASE_CURRENCY_CODE = "UAH";
+    private final int size;
+    private final Map<String, Integer> indexByCode;
+    private final BigDecimal[] crossRates;
+    //endregion
+
+    private CrossRateMatrix(List<String> codes, List<BigDecimal> rates) {
+        this.size = codes.size();
+        this.indexByCode = new HashMap<>(size * 2);
+        this.crossRates = new BigDecimal[size * size];
+
+        for (int i = 0; i < size; i++) {
+            indexByCode.put(codes.get(i), i);
+        }
+
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                crossRates[from * size + to] = from == to
+                        ? BigDecimal.ONE.setScale(RATE_SCALE, ROUNDING_MODE)
+                        : crossRate(rates.get(from), rates.get(to));
+            }
+        }
+    }
+
+    public static CrossRateMatrix of(List<CurrencyRate> currencyRates) {
+        List<String> codes = new ArrayList<>(currencyRates.size() + 1);
+        List<BigDecimal> rates = new ArrayList<>(currencyRates.size() + 1);
+
+        codes.add(BASE_CURRENCY_CODE);
+        rates.add(BigDecimal.ONE);
+
+        for (CurrencyRate rate : currencyRates) {
+            if (rate.getCc() == null || rate.getRate() == null
+                    || rate.getRate().signum() <= 0
+                    || codes.contains(rate.getCc().toUpperCase(Locale.ROOT))) {
+                continue;
+            }
+            codes.add(rate.getCc().toUpperCase(Locale.ROOT));
+            rates.add(rate.getRate());
+        }
+
+        return new CrossRateMatrix(codes, rates);
+    }
+
+    public static BigDecimal crossRate(BigDecimal fromRate, BigDecimal toRate) {
+        return fromRate.divide(toRate, RATE_SCALE, ROUNDING_MODE);
+    }
+
+    public static BigDecimal convert(BigDecimal amount, BigDecimal crossRate) {
+        return amount.multiply(crossRate).setScale(AMOUNT_SCALE, ROUNDING_MODE);
+    }
+
+    public int indexOf(String currencyCode) {
+        return currencyCode == null
+                ? NOT_FOUND
+                : indexByCode.getOrDefault(currencyCode.toUpperCase(Locale.ROOT), NOT_FOUND);
+    }
+
+    public BigDecimal crossRate(int fromIndex, int toIndex) {
+        return crossRates[fromIndex * size + toIndex];
+    }
+
+    public BigDecimal convert(BigDecimal amount, int fromIndex, int toIndex) {
+        return convert(amount, crossRate(fromIndex, toIndex));
+    }
+}
@@ -0,0 +1,143 @@
+package currencyrates.currencyratesservice.service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter
+public final class RateSnapshot {
+    //region Fields
+    private static final int ETAG_BYTES = 16;
+    private static final byte FIELD_SEPARATOR = 0x1f;
+    private final LocalDate exchangeDate;
+    private final List<CurrencyRate> rates;
+    private final Map<String, CurrencyRate> ratesByCode;
+    private final long createdAtNanos;
+    private final String etag;
+    private final LocalDateTime lastReceivingDate;
+    private final boolean cacheable;
+    @Getter(AccessLevel.NONE)
+    private volatile CrossRateMatrix crossRateMatrix;
+    //endregion
+
+    public RateSnapshot(LocalDate exchangeDate, List<CurrencyRate> rates) {
+        this.exchangeDate = exchangeDate;
+        this.rates = rates.stream().map(RateSnapshot::copyOf).toList();
+        this.ratesByCode = Collections.unmodifiableMap(indexByCode(this.rates));
+        this.createdAtNanos = System.nanoTime();
+        this.etag = etagOf(this.rates);
+        this.lastReceivingDate = lastReceivingDateOf(this.rates);
+        this.cacheable = this.rates.stream().noneMatch(CurrencyRate::isFallback);
+    }
+
+    public static String etagOf(List<CurrencyRate> rates) {
+        MessageDigest digest = sha256();
+
+        for (CurrencyRate rate : rates) {
+            update(digest, rate.getCc());
+            update(digest, rate.getTxt());
+            update(digest, rate.getRate() == null ? null : rate.getRate().toPlainString());
+            update(digest, String.valueOf(rate.getExchangeDate()));
+            update(digest, String.valueOf(rate.getReceivingDate()));
+        }
+
+        return '"' + HexFormat.of().formatHex(digest.digest(), 0, ETAG_BYTES) + '"';
+    }
+
+    public static long lastModifiedOf(List<CurrencyRate> rates, ZoneId zone) {
+        return epochMillisOf(lastReceivingDateOf(rates), zone);
+    }
+
+    public long lastModifiedMillis(ZoneId zone) {
+        return epochMillisOf(lastReceivingDate, zone);
+    }
+
+    public boolean matchesExchangeDate() {
+        return rates.stream().allMatch(rate -> exchangeDate.equals(rate.getExchangeDate()));
+    }
+
+    public Optional<CurrencyRate> findByCode(String currencyCode) {
+        if (currencyCode == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(ratesByCode.get(currencyCode.toUpperCase(Locale.ROOT)));
+    }
+
+    public CrossRateMatrix crossRates() {
+        CrossRateMatrix matrix = crossRateMatrix;
+
+        if (matrix == null) {
+            matrix = CrossRateMatrix.of(rates);
+            crossRateMatrix = matrix;
+        }
+
+        return matrix;
+    }
+
+    private static CurrencyRate copyOf(CurrencyRate rate) {
+        CurrencyRate copy = new CurrencyRate();
+        copy.setId(rate.getId());
+        copy.setR030(rate.getR030());
+        copy.setTxt(rate.getTxt());
+        copy.setRate(rate.getRate());
+        copy.setCc(rate.getCc());
+        copy.setExchangeDate(rate.getExchangeDate());
+        copy.setReceivingDate(rate.getReceivingDate());
+        copy.setFallback(rate.isFallback());
+
+        return copy;
+    }
+
+    private static LocalDateTime lastReceivingDateOf(List<CurrencyRate> rates) {
+        return rates.stream()
+                .map(CurrencyRate::getReceivingDate)
+                .filter(receivingDate -> receivingDate != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    private static long epochMillisOf(LocalDateTime receivingDate, ZoneId zone) {
+        return receivingDate == null ? -1L : receivingDate.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static Map<String, CurrencyRate> indexByCode(List<CurrencyRate> rates) {
+        Map<String, CurrencyRate> index = new LinkedHashMap<>(rates.size() * 2);
+
+        for (CurrencyRate rate : rates) {
+            if (rate.getCc() != null) {
+                index.putIfAbsent(rate.getCc().toUpperCase(Locale.ROOT), rate);
+            }
+        }
+
+        return index;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(FIELD_SEPARATOR);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
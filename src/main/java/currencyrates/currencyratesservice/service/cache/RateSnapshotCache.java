@@ -0,0 +1,111 @@
+package currencyrates.currencyratesservice.service.cache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import currencyrates.currencyratesservice.dto.RateCacheStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RateSnapshotCache {
+    //region Fields
+    private static final float LOAD_FACTOR = 0.75f;
+    private final int maxSize;
+    private final long maxAgeNanos;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Map<LocalDate, RateSnapshot> snapshots;
+    //endregion
+
+    public RateSnapshotCache(@Value("${rates.cache.max-size}") int maxSize,
+                             @Value("${rates.cache.max-age}") Duration maxAge) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Rate cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.snapshots = new LinkedHashMap<>(16, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, RateSnapshot> eldest) {
+                if (size() > RateSnapshotCache.this.maxSize) {
+                    evictions.incrementAndGet();
+
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    public synchronized Optional<RateSnapshot> get(LocalDate date) {
+        RateSnapshot snapshot = snapshots.get(date);
+
+        if (snapshot != null && isExpired(snapshot, System.nanoTime())) {
+            snapshots.remove(date);
+            evictions.incrementAndGet();
+            snapshot = null;
+        }
+
+        if (snapshot == null) {
+            misses.incrementAndGet();
+
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+
+        return Optional.of(snapshot);
+    }
+
+    public synchronized Optional<RateSnapshot> peek(LocalDate date) {
+        RateSnapshot snapshot = snapshots.get(date);
+
+        return snapshot == null || isExpired(snapshot, System.nanoTime())
+                ? Optional.empty()
+                : Optional.of(snapshot);
+    }
+
+    public synchronized RateSnapshot put(RateSnapshot snapshot) {
+        evictExpired();
+        snapshots.put(snapshot.getExchangeDate(), snapshot);
+
+        return snapshot;
+    }
+
+    public synchronized void invalidate(LocalDate date) {
+        snapshots.remove(date);
+    }
+
+    public synchronized RateCacheStatsDto getStats() {
+        RateCacheStatsDto stats = new RateCacheStatsDto();
+        stats.setSize(snapshots.size());
+        stats.setMaxSize(maxSize);
+        stats.setHits(hits.get());
+        stats.setMisses(misses.get());
+        stats.setEvictions(evictions.get());
+
+        return stats;
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<RateSnapshot> iterator = snapshots.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next(), now)) {
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean isExpired(RateSnapshot snapshot, long now) {
+        return now - snapshot.getCreatedAtNanos() >= maxAgeNanos;
+    }
+}
@@ -0,0 +1,7 @@
+package currencyrates.currencyratesservice.service.cache;
+
+public record SerializedRates(String etag, byte[] json, byte[] gzip) {
+    public long sizeInBytes() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
@@ -0,0 +1,123 @@
+package currencyrates.currencyratesservice.service.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import currencyrates.currencyratesservice.dto.PayloadCacheStatsDto;
+import currencyrates.currencyratesservice.service.stream.CurrencyRateStreamWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SerializedRatesCache {
+    //region Fields
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private final CurrencyRateStreamWriter currencyRateStreamWriter;
+    private final long maxBytes;
+    private final boolean gzipEnabled;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Map<LocalDate, SerializedRates> payloads =
+            new LinkedHashMap<>(16, LOAD_FACTOR, true);
+    private long totalBytes;
+    //endregion
+
+    public SerializedRatesCache(CurrencyRateStreamWriter currencyRateStreamWriter,
+                                @Value("${rates.payload-cache.max-bytes}") long maxBytes,
+                                @Value("${rates.payload-cache.gzip}") boolean gzipEnabled) {
+        this.currencyRateStreamWriter = currencyRateStreamWriter;
+        this.maxBytes = maxBytes;
+        this.gzipEnabled = gzipEnabled;
+    }
+
+    public SerializedRates get(RateSnapshot snapshot) {
+        if (!snapshot.isCacheable()) {
+            return serialize(snapshot);
+        }
+        LocalDate date = snapshot.getExchangeDate();
+
+        synchronized (this) {
+            SerializedRates cached = payloads.get(date);
+
+            if (cached != null && cached.etag().equals(snapshot.getEtag())) {
+                hits.incrementAndGet();
+
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        SerializedRates serialized = serialize(snapshot);
+        put(date, serialized);
+
+        return serialized;
+    }
+
+    public synchronized void invalidate(LocalDate date) {
+        SerializedRates removed = payloads.remove(date);
+
+        if (removed != null) {
+            totalBytes -= removed.sizeInBytes();
+        }
+    }
+
+    public synchronized PayloadCacheStatsDto getStats() {
+        PayloadCacheStatsDto stats = new PayloadCacheStatsDto();
+        stats.setEntries(payloads.size());
+        stats.setBytes(totalBytes);
+        stats.setMaxBytes(maxBytes);
+        stats.setHits(hits.get());
+        stats.setMisses(misses.get());
+        stats.setEvictions(evictions.get());
+
+        return stats;
+    }
+
+    private synchronized void put(LocalDate date, SerializedRates serialized) {
+        if (serialized.sizeInBytes() > maxBytes) {
+            return;
+        }
+        invalidate(date);
+        payloads.put(date, serialized);
+        totalBytes += serialized.sizeInBytes();
+
+        Iterator<SerializedRates> eldest = payloads.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().sizeInBytes();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private SerializedRates serialize(RateSnapshot snapshot) {
+        try {
+            ByteArrayOutputStream json = new ByteArrayOutputStream(BUFFER_SIZE);
+            currencyRateStreamWriter.writeJsonArray(snapshot.getRates().stream(), json);
+            byte[] jsonBytes = json.toByteArray();
+
+            return new SerializedRates(snapshot.getEtag(), jsonBytes,
+                    gzipEnabled ? gzip(jsonBytes) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize currency rates on date: "
+                    + snapshot.getExchangeDate(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+
+        return compressed.toByteArray();
+    }
+}
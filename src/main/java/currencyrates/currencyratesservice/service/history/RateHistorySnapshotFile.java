@@ -0,0 +1,114 @@
+package currencyrates.currencyratesservice.service.history;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import currencyrates.currencyratesservice.dto.HistoryStoreStatsDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RateHistorySnapshotFile {
+    //region Fields
+    private static final Logger logger = LogManager.getLogger(RateHistorySnapshotFile.class);
+    private static final String TEMP_SUFFIX = ".tmp";
+    private final RateHistoryStore rateHistoryStore;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration interval;
+    private final AtomicBoolean writeRequested = new AtomicBoolean();
+    private volatile ScheduledFuture<?> scheduledWrite;
+    //endregion
+
+    public RateHistorySnapshotFile(RateHistoryStore rateHistoryStore,
+                                   TaskScheduler taskScheduler,
+                                   @Value("${rates.history.snapshot.enabled}") boolean enabled,
+                                   @Value("${rates.history.snapshot.path}") Path path,
+                                   @Value("${rates.history.snapshot.interval}") Duration interval) {
+        this.rateHistoryStore = rateHistoryStore;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.path = path;
+        this.interval = interval;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+
+        try {
+            if (rateHistoryStore.loadSnapshot(path)) {
+                HistoryStoreStatsDto stats = rateHistoryStore.getStats();
+
+                logger.info("Mapped rate history snapshot {} taken at {} in {} ms: {} currencies, {} rates",
+                        path, stats.getSnapshotTakenAt(), (System.nanoTime() - startNanos) / 1_000_000,
+                        stats.getCurrencies(), stats.getPoints());
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to load rate history snapshot {}, rebuilding from the database", path, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleWrites() {
+        if (enabled) {
+            scheduledWrite = taskScheduler.scheduleWithFixedDelay(this::write,
+                    Instant.now().plus(interval), interval);
+        }
+    }
+
+    public void requestWrite() {
+        if (enabled && writeRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                writeRequested.set(false);
+                write();
+            }, Instant.now());
+        }
+    }
+
+    public synchronized void write() {
+        if (!enabled || !rateHistoryStore.isReady()) {
+            return;
+        }
+        Path temp = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            long rates = rateHistoryStore.writeSnapshot(temp);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            logger.debug("Wrote {} rates to history snapshot {}", rates, path);
+        } catch (IOException e) {
+            logger.error("Failed to write rate history snapshot {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ScheduledFuture<?> write = scheduledWrite;
+        if (write != null) {
+            write.cancel(false);
+        }
+
+        write();
+    }
+}
@@ -0,0 +1,642 @@
+package currencyrates.currencyratesservice.service.history;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import currencyrates.currencyratesservice.dto.HistoryStoreStatsDto;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RateHistoryStore {
+    //region Fields
+    public static final int RATE_SCALE = 8;
+    private static final Logger logger = LogManager.getLogger(RateHistoryStore.class);
+    private static final int MAX_R030 = 1000;
+    private static final int NOT_FOUND = -1;
+    private static final int INITIAL_CAPACITY_DAYS = 64;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final long MISSING = 0L;
+    private static final long NO_R030 = -1L;
+    private static final int SNAPSHOT_MAGIC = 0x43524853;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final Duration RECONCILE_OVERLAP = Duration.ofHours(1);
+    private final CurrencyRateRepository currencyRateRepository;
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotByCode = new HashMap<>();
+    private final short[] slotByR030 = new short[MAX_R030];
+    private final List<Column> columns = new ArrayList<>();
+    private volatile boolean ready;
+    private volatile LocalDateTime snapshotTakenAt;
+    //endregion
+
+    public RateHistoryStore(CurrencyRateRepository currencyRateRepository,
+                            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                            @Value("${rates.history.enabled}") boolean enabled) {
+        this.currencyRateRepository = currencyRateRepository;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        Arrays.fill(slotByR030, (short) NOT_FOUND);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (enabled) {
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        LocalDateTime since = snapshotTakenAt;
+        List<CurrencyRate> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        Consumer<CurrencyRate> collector = rate -> {
+            batch.add(rate);
+
+            if (batch.size() == REBUILD_BATCH_SIZE) {
+                record(batch);
+                batch.clear();
+            }
+        };
+
+        try {
+            long rows = since == null
+                    ? currencyRateRepository.scanAll(collector)
+                    : reconcile(since, collector);
+            record(batch);
+            ready = true;
+            HistoryStoreStatsDto stats = getStats();
+
+            logger.info("{} rate history store from {} rows in {} ms: {} currencies, {} off-heap bytes",
+                    since == null ? "Rebuilt" : "Reconciled", rows,
+                    (System.nanoTime() - startNanos) / 1_000_000,
+                    stats.getCurrencies(), stats.getOffHeapBytes());
+        } catch (RuntimeException e) {
+            logger.error("Failed to rebuild rate history store from the database", e);
+        }
+    }
+
+    public boolean loadSnapshot(Path source) throws IOException {
+        if (!enabled) {
+            return false;
+        }
+        MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 2 * Integer.BYTES
+                || buffer.getInt() != SNAPSHOT_MAGIC
+                || buffer.getInt() != SNAPSHOT_VERSION) {
+            logger.warn("Ignoring rate history snapshot {} with an unknown format", source);
+
+            return false;
+        }
+        LocalDateTime takenAt = fromEpochSecond(buffer.getLong());
+        int currencies = buffer.getInt();
+        List<Column> loaded = new ArrayList<>(currencies);
+
+        for (int i = 0; i < currencies; i++) {
+            loaded.add(Column.readFrom(buffer));
+        }
+
+        lock.writeLock().lock();
+        try {
+            columns.clear();
+            slotByCode.clear();
+            Arrays.fill(slotByR030, (short) NOT_FOUND);
+            loaded.forEach(this::register);
+            snapshotTakenAt = takenAt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        return true;
+    }
+
+    public long writeSnapshot(Path target) throws IOException {
+        lock.readLock().lock();
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(target)))) {
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeInt(SNAPSHOT_VERSION);
+            output.writeLong(toEpochSecond(LocalDateTime.now()));
+            output.writeInt(columns.size());
+
+            long points = 0;
+            for (Column column : columns) {
+                column.writeTo(output);
+                points += column.points;
+            }
+
+            return points;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void record(Collection<CurrencyRate> currencyRates) {
+        if (!enabled || currencyRates.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (CurrencyRate rate : currencyRates) {
+                if (rate.getCc() == null || rate.getExchangeDate() == null
+                        || rate.getRate() == null || rate.getRate().signum() <= 0) {
+                    continue;
+                }
+                Column column = columnFor(rate);
+                column.put((int) rate.getExchangeDate().toEpochDay(), toScaled(rate.getRate()),
+                        toEpochSecond(rate.getReceivingDate()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(LocalDate date) {
+        if (!enabled) {
+            return;
+        }
+        int epochDay = (int) date.toEpochDay();
+
+        lock.writeLock().lock();
+        try {
+            columns.forEach(column -> column.clear(epochDay));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<LocalDate> datesBetween(LocalDate from, LocalDate to) {
+        int firstDay = (int) from.toEpochDay();
+        int days = (int) (to.toEpochDay() - firstDay + 1);
+        boolean[] present = new boolean[Math.max(days, 0)];
+
+        lock.readLock().lock();
+        try {
+            for (Column column : columns) {
+                for (int i = 0; i < present.length; i++) {
+                    present[i] |= column.rate(firstDay + i) != MISSING;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return IntStream.range(0, present.length)
+                .filter(i -> present[i])
+                .mapToObj(i -> LocalDate.ofEpochDay(firstDay + i))
+                .toList();
+    }
+
+    public Optional<BigDecimal> rateOn(String currencyCode, LocalDate date) {
+        lock.readLock().lock();
+        try {
+            return rateOn(slotOf(currencyCode), date);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<BigDecimal> rateOn(long r030, LocalDate date) {
+        lock.readLock().lock();
+        try {
+            return rateOn(r030 >= 0 && r030 < MAX_R030 ? slotByR030[(int) r030] : NOT_FOUND, date);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<CurrencyRate> findRate(String currencyCode, LocalDate date) {
+        int epochDay = (int) date.toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(currencyCode);
+            if (slot == NOT_FOUND) {
+                return Optional.empty();
+            }
+            Column column = columns.get(slot);
+            long scaled = column.rate(epochDay);
+
+            return scaled == MISSING
+                    ? Optional.empty()
+                    : Optional.of(column.toCurrencyRate(epochDay, scaled, column.receivedAt(epochDay)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<CurrencyRate> ratesOn(LocalDate date) {
+        int epochDay = (int) date.toEpochDay();
+        List<CurrencyRate> rates = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Column column : columns) {
+                long scaled = column.rate(epochDay);
+
+                if (scaled != MISSING) {
+                    rates.add(column.toCurrencyRate(epochDay, scaled, column.receivedAt(epochDay)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return rates;
+    }
+
+    public Stream<CurrencyRate> series(String currencyCode, LocalDate from, LocalDate to) {
+        int firstDay = (int) from.toEpochDay();
+        int days = (int) (to.toEpochDay() - firstDay + 1);
+        long[] rates = new long[days];
+        long[] receivedAt = new long[days];
+        Column column;
+
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(currencyCode);
+            if (slot == NOT_FOUND || days <= 0) {
+                return Stream.empty();
+            }
+            column = columns.get(slot);
+            column.copy(firstDay, rates, receivedAt);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return IntStream.range(0, days)
+                .filter(i -> rates[i] != MISSING)
+                .mapToObj(i -> column.toCurrencyRate(firstDay + i, rates[i], receivedAt[i]));
+    }
+
+    public HistoryStoreStatsDto getStats() {
+        HistoryStoreStatsDto stats = new HistoryStoreStatsDto();
+        stats.setEnabled(enabled);
+        stats.setReady(ready);
+        stats.setSnapshotTakenAt(snapshotTakenAt);
+
+        lock.readLock().lock();
+        try {
+            stats.setCurrencies(columns.size());
+            stats.setPoints(columns.stream().mapToLong(column -> column.points).sum());
+            stats.setOffHeapBytes(columns.stream().mapToLong(Column::offHeapBytes).sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return stats;
+    }
+
+    private long reconcile(LocalDateTime since, Consumer<CurrencyRate> collector) {
+        Map<LocalDate, Integer> databaseCounts = currencyRateRepository.countByExchangeDate();
+        Map<LocalDate, Integer> storeCounts = countByExchangeDate();
+        Set<LocalDate> staleDates = new HashSet<>(databaseCounts.keySet());
+        staleDates.addAll(storeCounts.keySet());
+        staleDates.removeIf(date -> Objects.equals(databaseCounts.get(date), storeCounts.get(date)));
+
+        if (!storeCounts.isEmpty() && Collections.disjoint(databaseCounts.keySet(), storeCounts.keySet())) {
+            logger.warn("The database holds none of the {} snapshot days, restoring them from the snapshot",
+                    storeCounts.size());
+            restore(storeCounts.keySet());
+            staleDates.removeAll(storeCounts.keySet());
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (LocalDate date : staleDates) {
+                columns.forEach(column -> column.clear((int) date.toEpochDay()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Refreshing {} days whose rate count differs from the database", staleDates.size());
+
+        return currencyRateRepository.scanReceivedSince(since.minus(RECONCILE_OVERLAP), staleDates, collector);
+    }
+
+    private void restore(Collection<LocalDate> dates) {
+        List<CurrencyRate> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+
+        for (LocalDate date : dates.stream().sorted().toList()) {
+            batch.addAll(ratesOn(date));
+
+            if (batch.size() >= REBUILD_BATCH_SIZE) {
+                currencyRateRepository.upsertAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            currencyRateRepository.upsertAll(batch);
+        }
+    }
+
+    private Map<LocalDate, Integer> countByExchangeDate() {
+        Map<LocalDate, Integer> counts = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (Column column : columns) {
+                for (int i = 0; i < column.capacity; i++) {
+                    if (column.rate(column.firstEpochDay + i) != MISSING) {
+                        counts.merge(LocalDate.ofEpochDay(column.firstEpochDay + i), 1, Integer::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return counts;
+    }
+
+    private Optional<BigDecimal> rateOn(int slot, LocalDate date) {
+        if (slot == NOT_FOUND) {
+            return Optional.empty();
+        }
+        long scaled = columns.get(slot).rate((int) date.toEpochDay());
+
+        return scaled == MISSING ? Optional.empty() : Optional.of(fromScaled(scaled));
+    }
+
+    private int slotOf(String currencyCode) {
+        return currencyCode == null
+                ? NOT_FOUND
+                : slotByCode.getOrDefault(currencyCode.toUpperCase(Locale.ROOT), NOT_FOUND);
+    }
+
+    private Column columnFor(CurrencyRate rate) {
+        String code = rate.getCc().toUpperCase(Locale.ROOT);
+        Integer slot = slotByCode.get(code);
+
+        if (slot != null) {
+            return columns.get(slot);
+        }
+
+        return register(new Column(code, rate.getR030(), rate.getTxt()));
+    }
+
+    private Column register(Column column) {
+        slotByCode.put(column.code, columns.size());
+        if (column.r030 != null && column.r030 >= 0 && column.r030 < MAX_R030) {
+            slotByR030[column.r030.intValue()] = (short) columns.size();
+        }
+        columns.add(column);
+
+        return column;
+    }
+
+    private static long toScaled(BigDecimal rate) {
+        return rate.setScale(RATE_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromScaled(long scaled) {
+        BigDecimal rate = BigDecimal.valueOf(scaled, RATE_SCALE).stripTrailingZeros();
+
+        return rate.scale() < 0 ? rate.setScale(0) : rate;
+    }
+
+    private static long toEpochSecond(LocalDateTime receivingDate) {
+        return receivingDate == null ? Long.MIN_VALUE : receivingDate.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return epochSecond == Long.MIN_VALUE
+                ? null
+                : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static LongBuffer readColumn(ByteBuffer buffer, int capacity) {
+        int length = capacity * Long.BYTES;
+        LongBuffer column = buffer.slice(buffer.position(), length).asLongBuffer();
+        buffer.position(buffer.position() + length);
+
+        return column;
+    }
+
+    private static final class Column {
+        //region Fields
+        private final String code;
+        private final Long r030;
+        private final String txt;
+        private int firstEpochDay;
+        private int capacity;
+        private int points;
+        private LongBuffer rates;
+        private LongBuffer receivedAt;
+        //endregion
+
+        private Column(String code, Long r030, String txt) {
+            this.code = code;
+            this.r030 = r030;
+            this.txt = txt;
+        }
+
+        private static Column readFrom(ByteBuffer buffer) {
+            String code = readString(buffer);
+            long r030 = buffer.getLong();
+            Column column = new Column(code, r030 == NO_R030 ? null : r030, readString(buffer));
+            column.firstEpochDay = buffer.getInt();
+            column.capacity = buffer.getInt();
+            column.points = buffer.getInt();
+            column.rates = readColumn(buffer, column.capacity);
+            column.receivedAt = readColumn(buffer, column.capacity);
+
+            return column;
+        }
+
+        private void writeTo(DataOutputStream output) throws IOException {
+            writeString(output, code);
+            output.writeLong(r030 == null ? NO_R030 : r030);
+            writeString(output, txt);
+            output.writeInt(firstEpochDay);
+            output.writeInt(capacity);
+            output.writeInt(points);
+
+            for (int i = 0; i < capacity; i++) {
+                output.writeLong(rates.get(i));
+            }
+            for (int i = 0; i < capacity; i++) {
+                output.writeLong(receivedAt.get(i));
+            }
+        }
+
+        private void put(int epochDay, long scaledRate, long receivedAtSecond) {
+            ensureCapacity(epochDay);
+            int index = epochDay - firstEpochDay;
+
+            if (rates.get(index) == MISSING) {
+                points++;
+            }
+            rates.put(index, scaledRate);
+            receivedAt.put(index, receivedAtSecond);
+        }
+
+        private void clear(int epochDay) {
+            if (rate(epochDay) == MISSING) {
+                return;
+            }
+            if (rates.isReadOnly()) {
+                allocate(capacity, 0);
+            }
+            rates.put(epochDay - firstEpochDay, MISSING);
+            points--;
+        }
+
+        private long rate(int epochDay) {
+            int index = epochDay - firstEpochDay;
+
+            return rates == null || index < 0 || index >= capacity ? MISSING : rates.get(index);
+        }
+
+        private long receivedAt(int epochDay) {
+            return receivedAt.get(epochDay - firstEpochDay);
+        }
+
+        private void copy(int fromEpochDay, long[] rateTarget, long[] receivedAtTarget) {
+            if (rates == null) {
+                return;
+            }
+            int start = Math.max(fromEpochDay, firstEpochDay);
+            int end = Math.min(fromEpochDay + rateTarget.length, firstEpochDay + capacity);
+
+            for (int epochDay = start; epochDay < end; epochDay++) {
+                rateTarget[epochDay - fromEpochDay] = rates.get(epochDay - firstEpochDay);
+                receivedAtTarget[epochDay - fromEpochDay] = receivedAt.get(epochDay - firstEpochDay);
+            }
+        }
+
+        private CurrencyRate toCurrencyRate(int epochDay, long scaledRate, long receivedAtSecond) {
+            CurrencyRate rate = new CurrencyRate();
+            rate.setR030(r030);
+            rate.setTxt(txt);
+            rate.setCc(code);
+            rate.setRate(fromScaled(scaledRate));
+            rate.setExchangeDate(LocalDate.ofEpochDay(epochDay));
+            rate.setReceivingDate(fromEpochSecond(receivedAtSecond));
+
+            return rate;
+        }
+
+        private long offHeapBytes() {
+            return 2L * capacity * Long.BYTES;
+        }
+
+        private void ensureCapacity(int epochDay) {
+            if (rates == null) {
+                firstEpochDay = epochDay;
+                allocate(INITIAL_CAPACITY_DAYS, 0);
+
+                return;
+            }
+            if (epochDay >= firstEpochDay && epochDay < firstEpochDay + capacity) {
+                if (rates.isReadOnly()) {
+                    allocate(capacity, 0);
+                }
+
+                return;
+            }
+            int newFirst = Math.min(firstEpochDay, epochDay);
+            int newEnd = Math.max(firstEpochDay + capacity, epochDay + 1);
+            int newCapacity = Math.max(capacity * 2, newEnd - newFirst);
+
+            if (epochDay < firstEpochDay) {
+                newFirst = newEnd - newCapacity;
+            }
+            int offset = firstEpochDay - newFirst;
+            firstEpochDay = newFirst;
+            allocate(newCapacity, offset);
+        }
+
+        private void allocate(int newCapacity, int offset) {
+            LongBuffer newRates = ByteBuffer.allocateDirect(newCapacity * Long.BYTES).asLongBuffer();
+            LongBuffer newReceivedAt = ByteBuffer.allocateDirect(newCapacity * Long.BYTES).asLongBuffer();
+
+            if (rates != null) {
+                for (int i = 0; i < capacity; i++) {
+                    newRates.put(offset + i, rates.get(i));
+                    newReceivedAt.put(offset + i, receivedAt.get(i));
+                }
+            }
+            rates = newRates;
+            receivedAt = newReceivedAt;
+            capacity = newCapacity;
+        }
+    }
+}
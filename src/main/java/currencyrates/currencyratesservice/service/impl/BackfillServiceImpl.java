@@ -0,0 +1,263 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import currencyrates.currencyratesservice.dto.BackfillJobDto;
+import currencyrates.currencyratesservice.exception.NbuUnavailableException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import currencyrates.currencyratesservice.service.BackfillService;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.NbuService;
+import currencyrates.currencyratesservice.service.backfill.BackfillJob;
+import currencyrates.currencyratesservice.service.backfill.RequestRateLimiter;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BackfillServiceImpl implements BackfillService {
+    //region Fields
+    private static final Logger logger = LogManager.getLogger(BackfillServiceImpl.class);
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private final CurrencyRateRepository currencyRateRepository;
+    private final CurrencyRateService currencyRateService;
+    private final NbuService nbuService;
+    private final RequestRateLimiter requestRateLimiter;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService fetchExecutor;
+    private final Semaphore fetchPermits;
+    private final ConcurrentHashMap<String, BackfillJob> jobs = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final long maxDays;
+    private final Clock rateClock;
+    //endregion
+
+    public BackfillServiceImpl(CurrencyRateRepository currencyRateRepository,
+                               CurrencyRateService currencyRateService,
+                               NbuService nbuService,
+                               Clock rateClock,
+                               @Value("${rates.backfill.workers}") int workers,
+                               @Value("${rates.backfill.requests-per-second}")
+                               double requestsPerSecond,
+                               @Value("${rates.backfill.batch-size}") int batchSize,
+                               @Value("${rates.backfill.max-days}") long maxDays,
+                               @Value("${spring.threads.virtual.enabled}")
+                               boolean virtualThreads) {
+        this.currencyRateRepository = currencyRateRepository;
+        this.currencyRateService = currencyRateService;
+        this.nbuService = nbuService;
+        this.requestRateLimiter = new RequestRateLimiter(requestsPerSecond);
+        this.jobExecutor = Executors.newSingleThreadExecutor();
+        this.fetchExecutor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(workers);
+        this.fetchPermits = new Semaphore(workers);
+        this.batchSize = batchSize;
+        this.maxDays = maxDays;
+        this.rateClock = rateClock;
+    }
+
+    @Override
+    public BackfillJobDto startBackfill(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        BackfillJob job = new BackfillJob(UUID.randomUUID().toString(), from, to);
+        jobs.put(job.getId(), job);
+        jobExecutor.submit(() -> runJob(job));
+
+        logger.info("Queued backfill job {} for dates {} - {}", job.getId(), from, to);
+
+        return toDto(job);
+    }
+
+    @Override
+    public BackfillJobDto getJob(String jobId) {
+        BackfillJob job = jobs.get(jobId);
+
+        if (job == null) {
+            throw new NoSuchElementException("No backfill job found with id: " + jobId);
+        }
+
+        return toDto(job);
+    }
+
+    @Override
+    public List<BackfillJobDto> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(BackfillJob::getFrom))
+                .map(this::toDto)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        jobExecutor.shutdownNow();
+        fetchExecutor.shutdownNow();
+        fetchExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void runJob(BackfillJob job) {
+        try {
+            Set<LocalDate> existingDates = new HashSet<>(currencyRateRepository
+                    .findExchangeDatesBetween(job.getFrom(), job.getTo()));
+            List<LocalDate> pendingDates = job.getFrom().datesUntil(job.getTo().plusDays(1))
+                    .filter(date -> !existingDates.contains(date))
+                    .toList();
+
+            job.start(pendingDates.size() + existingDates.size(), existingDates.size());
+
+            logger.info("Started backfill job {}: {} days to fetch, {} already present",
+                    job.getId(), pendingDates.size(), existingDates.size());
+
+            CompletionService<List<CurrencyRate>> completionService =
+                    new ExecutorCompletionService<>(fetchExecutor);
+            pendingDates.forEach(date -> completionService.submit(() -> fetchDay(date)));
+
+            List<CurrencyRate> buffer = new ArrayList<>(batchSize);
+            int bufferedDays = 0;
+
+            for (int i = 0; i < pendingDates.size(); i++) {
+                try {
+                    List<CurrencyRate> currencyRates = completionService.take().get();
+
+                    if (currencyRates.isEmpty()) {
+                        job.getEmptyDays().incrementAndGet();
+                        continue;
+                    }
+                    buffer.addAll(currencyRates);
+                    bufferedDays++;
+                } catch (ExecutionException e) {
+                    logger.warn("Backfill job {} failed to fetch a day: {}",
+                            job.getId(), e.getCause().getMessage());
+
+                    job.getFailedDays().incrementAndGet();
+                }
+
+                if (buffer.size() >= batchSize) {
+                    flush(job, buffer, bufferedDays);
+                    bufferedDays = 0;
+                }
+            }
+            flush(job, buffer, bufferedDays);
+            job.complete();
+
+            logger.info("Finished backfill job {}: {} days, {} rows in {}s "
+                            + "({} days/s, {} rows/s)",
+                    job.getId(), job.getPersistedDays().get(), job.getPersistedRows().get(),
+                    String.format("%.1f", job.getElapsedSeconds()),
+                    String.format("%.2f", perSecond(job.getPersistedDays().get(), job)),
+                    String.format("%.2f", perSecond(job.getPersistedRows().get(), job)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Backfill interrupted");
+        } catch (RuntimeException e) {
+            logger.error("Backfill job {} failed", job.getId(), e);
+
+            job.fail(e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private List<CurrencyRate> fetchDay(LocalDate date) throws InterruptedException {
+        List<CurrencyRate> currencyRates;
+
+        fetchPermits.acquire();
+        try {
+            requestRateLimiter.acquire();
+            currencyRates = nbuService.fetchRatesForDate(date);
+        } finally {
+            fetchPermits.release();
+        }
+
+        if (currencyRates == null) {
+            return List.of();
+        }
+        if (currencyRates.stream().anyMatch(CurrencyRate::isFallback)) {
+            throw new NbuUnavailableException("NBU is unavailable, not storing last known rates for "
+                    + date);
+        }
+        LocalDateTime receivingDate = LocalDateTime.now(rateClock);
+        currencyRates.forEach(rate -> rate.setReceivingDate(receivingDate));
+
+        return currencyRates;
+    }
+
+    private void flush(BackfillJob job, List<CurrencyRate> buffer, int bufferedDays) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        try {
+            currencyRateService.saveAllToDB(buffer);
+
+            job.getPersistedDays().addAndGet(bufferedDays);
+            job.getPersistedRows().addAndGet(buffer.size());
+        } catch (RuntimeException e) {
+            logger.error("Backfill job {} failed to persist {} days", job.getId(), bufferedDays, e);
+
+            job.getFailedDays().addAndGet(bufferedDays);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The start date must not be after the end date");
+        }
+        if (to.isAfter(LocalDate.now(rateClock))) {
+            throw new IllegalArgumentException(
+                    "The date cannot be specified later than the current one");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new IllegalArgumentException("A backfill may cover at most "
+                    + maxDays + " days");
+        }
+    }
+
+    private double perSecond(long count, BackfillJob job) {
+        double elapsedSeconds = job.getElapsedSeconds();
+
+        return elapsedSeconds > 0 ? count / elapsedSeconds : 0;
+    }
+
+    private BackfillJobDto toDto(BackfillJob job) {
+        BackfillJobDto dto = new BackfillJobDto();
+        dto.setJobId(job.getId());
+        dto.setStatus(job.getStatus().name());
+        dto.setFrom(job.getFrom());
+        dto.setTo(job.getTo());
+        dto.setTotalDays(job.getTotalDays());
+        dto.setSkippedDays(job.getSkippedDays());
+        dto.setPersistedDays(job.getPersistedDays().get());
+        dto.setPersistedRows(job.getPersistedRows().get());
+        dto.setEmptyDays(job.getEmptyDays().get());
+        dto.setFailedDays(job.getFailedDays().get());
+        dto.setDaysPerSecond(perSecond(job.getPersistedDays().get(), job));
+        dto.setRowsPerSecond(perSecond(job.getPersistedRows().get(), job));
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setError(job.getError());
+
+        return dto;
+    }
+}
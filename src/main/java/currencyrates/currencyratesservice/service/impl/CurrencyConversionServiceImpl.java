@@ -0,0 +1,146 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import currencyrates.currencyratesservice.dto.ConversionRequestDto;
+import currencyrates.currencyratesservice.dto.ConversionResponseDto;
+import currencyrates.currencyratesservice.exception.CurrencyRateNotFoundException;
+import currencyrates.currencyratesservice.service.CurrencyConversionService;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.cache.CrossRateMatrix;
+import currencyrates.currencyratesservice.service.history.RateHistoryStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CurrencyConversionServiceImpl implements CurrencyConversionService {
+    //region Fields
+    private final CurrencyRateService currencyRateService;
+    private final RateHistoryStore rateHistoryStore;
+    private final Clock rateClock;
+    @Value("${rates.convert.max-batch-size}")
+    private int maxBatchSize;
+    //endregion
+
+    @Override
+    public ConversionResponseDto convert(String from, String to, BigDecimal amount, LocalDate date) {
+        LocalDate exchangeDate = date != null ? date : LocalDate.now(rateClock);
+
+        return convertFromHistory(from, to, amount, exchangeDate)
+                .orElseGet(() -> convert(matrixFor(exchangeDate), from, to, amount, exchangeDate));
+    }
+
+    @Override
+    public List<ConversionResponseDto> convertAll(List<ConversionRequestDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one conversion must be requested");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize
+                    + " conversions may be requested at once");
+        }
+
+        Map<LocalDate, CrossRateMatrix> matrices = new HashMap<>();
+        List<ConversionResponseDto> responses = new ArrayList<>(requests.size());
+
+        for (ConversionRequestDto request : requests) {
+            LocalDate exchangeDate = request.getDate() != null ? request.getDate() : LocalDate.now(rateClock);
+
+            responses.add(convertFromHistory(request.getFrom(), request.getTo(),
+                    request.getAmount(), exchangeDate)
+                    .orElseGet(() -> convert(
+                            matrices.computeIfAbsent(exchangeDate, this::matrixFor),
+                            request.getFrom(), request.getTo(), request.getAmount(), exchangeDate)));
+        }
+
+        return responses;
+    }
+
+    private CrossRateMatrix matrixFor(LocalDate date) {
+        return currencyRateService.findSnapshotByDate(date).crossRates();
+    }
+
+    private Optional<ConversionResponseDto> convertFromHistory(String from,
+                                                               String to,
+                                                               BigDecimal amount,
+                                                               LocalDate exchangeDate) {
+        validateAmount(amount);
+        if (!rateHistoryStore.isReady() || from == null || to == null) {
+            return Optional.empty();
+        }
+        Optional<BigDecimal> fromRate = historyRateOf(from, exchangeDate);
+        Optional<BigDecimal> toRate = historyRateOf(to, exchangeDate);
+
+        if (fromRate.isEmpty() || toRate.isEmpty()) {
+            return Optional.empty();
+        }
+        BigDecimal crossRate = from.equalsIgnoreCase(to)
+                ? BigDecimal.ONE.setScale(CrossRateMatrix.RATE_SCALE, CrossRateMatrix.ROUNDING_MODE)
+                : CrossRateMatrix.crossRate(fromRate.get(), toRate.get());
+
+        return Optional.of(response(from, to, amount, crossRate,
+                CrossRateMatrix.convert(amount, crossRate), exchangeDate));
+    }
+
+    private Optional<BigDecimal> historyRateOf(String currencyCode, LocalDate exchangeDate) {
+        return CrossRateMatrix.BASE_CURRENCY_CODE.equalsIgnoreCase(currencyCode)
+                ? Optional.of(BigDecimal.ONE)
+                : rateHistoryStore.rateOn(currencyCode, exchangeDate);
+    }
+
+    private ConversionResponseDto convert(CrossRateMatrix matrix,
+                                          String from,
+                                          String to,
+                                          BigDecimal amount,
+                                          LocalDate exchangeDate) {
+        validateAmount(amount);
+        int fromIndex = indexOf(matrix, from, exchangeDate);
+        int toIndex = indexOf(matrix, to, exchangeDate);
+
+        return response(from, to, amount, matrix.crossRate(fromIndex, toIndex),
+                matrix.convert(amount, fromIndex, toIndex), exchangeDate);
+    }
+
+    private ConversionResponseDto response(String from,
+                                           String to,
+                                           BigDecimal amount,
+                                           BigDecimal rate,
+                                           BigDecimal convertedAmount,
+                                           LocalDate exchangeDate) {
+        ConversionResponseDto response = new ConversionResponseDto();
+        response.setFrom(from.toUpperCase(Locale.ROOT));
+        response.setTo(to.toUpperCase(Locale.ROOT));
+        response.setAmount(amount);
+        response.setRate(rate);
+        response.setConvertedAmount(convertedAmount);
+        response.setExchangeDate(exchangeDate);
+
+        return response;
+    }
+
+    private void validateAmount(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("The amount to convert must be specified");
+        }
+    }
+
+    private int indexOf(CrossRateMatrix matrix, String currencyCode, LocalDate exchangeDate) {
+        int index = matrix.indexOf(currencyCode);
+
+        if (index == CrossRateMatrix.NOT_FOUND) {
+            throw new CurrencyRateNotFoundException("No currency rate found for currency code: "
+                    + currencyCode + " on date " + exchangeDate);
+        }
+
+        return index;
+    }
+}
@@ -1,35 +1,112 @@
 package currencyrates.currencyratesservice.service.impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import currencyrates.currencyratesservice.dto.RateLookupRequestDto;
+import currencyrates.currencyratesservice.dto.RateStatsDto;
 import currencyrates.currencyratesservice.exception.CurrencyRateFetchException;
 import currencyrates.currencyratesservice.exception.CurrencyRateNotFoundException;
 import currencyrates.currencyratesservice.exception.CurrencyRateSaveException;
 import currencyrates.currencyratesservice.model.CurrencyRate;
 import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import currencyrates.currencyratesservice.repository.RateAggregate;
 import currencyrates.currencyratesservice.service.CurrencyRateService;
 import currencyrates.currencyratesservice.service.NbuService;
-import lombok.AllArgsConstructor;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import currencyrates.currencyratesservice.service.cache.RateSnapshotCache;
+import currencyrates.currencyratesservice.service.cache.SerializedRatesCache;
+import currencyrates.currencyratesservice.service.cache.SingleFlight;
+import currencyrates.currencyratesservice.service.history.RateHistorySnapshotFile;
+import currencyrates.currencyratesservice.service.history.RateHistoryStore;
+import currencyrates.currencyratesservice.service.metrics.RateMetrics;
+import currencyrates.currencyratesservice.service.metrics.RateMetrics.LookupSource;
+import currencyrates.currencyratesservice.service.stream.RateStreamConsumer;
+import currencyrates.currencyratesservice.service.writebehind.RateWriteBehindQueue;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class CurrencyRateServiceImpl implements CurrencyRateService {
     //region Fields
     private static final Logger logger = LogManager.getLogger(CurrencyRateServiceImpl.class);
-    private CurrencyRateRepository currencyRateRepository;
-    private NbuService nbuService;
+    private static final int STATS_SCALE = 6;
+    private static final int PERCENT_SCALE = 4;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private final CurrencyRateRepository currencyRateRepository;
+    private final NbuService nbuService;
+    private final RateSnapshotCache rateSnapshotCache;
+    private final SerializedRatesCache serializedRatesCache;
+    private final EntityManager entityManager;
+    private final RateMetrics rateMetrics;
+    private final RateWriteBehindQueue rateWriteBehindQueue;
+    private final RateHistoryStore rateHistoryStore;
+    private final RateHistorySnapshotFile rateHistorySnapshotFile;
+    private final PlatformTransactionManager transactionManager;
+    private final Clock rateClock;
+    private final SingleFlight<LocalDate, RateSnapshot> ratesByDateFlight =
+            new SingleFlight<>();
+    private final SingleFlight<RateKey, CurrencyRate> rateByCurrencyFlight =
+            new SingleFlight<>();
+    @Value("${rates.lookup.max-batch-size}")
+    private int maxLookupBatchSize;
+    @Value("${rates.series.max-days}")
+    private long maxSeriesDays;
+    @Value("${rates.series.max-missing-days}")
+    private int maxMissingSeriesDays;
+    @Value("${rates.series.max-parallel-fetches}")
+    private int maxParallelSeriesFetches;
+    @Value("${rates.export.max-days}")
+    private long maxExportDays;
+    @Value("${rates.stats.max-days}")
+    private long maxStatsDays;
     //endregion
 
     @Override
     public CurrencyRate saveRateToDB(CurrencyRate currencyRate) {
+        Timer.Sample sample = rateMetrics.startSave();
+
         try {
-            return currencyRateRepository.save(currencyRate);
+            currencyRateRepository.upsertAll(List.of(currencyRate));
+            rateMetrics.recordSave(sample, 1, true);
+            rateHistoryStore.record(List.of(currencyRate));
+
+            return currencyRate;
         } catch (Exception e) {
+            rateMetrics.recordSave(sample, 1, false);
             logger.error("Error saving currency rates to the database", e);
 
             throw new CurrencyRateSaveException("Failed to save currency rates.", e);
@@ -38,9 +115,16 @@ public class CurrencyRateServiceImpl implements CurrencyRateService {
 
     @Override
     public List<CurrencyRate> saveAllToDB(List<CurrencyRate> currencyRates) {
+        Timer.Sample sample = rateMetrics.startSave();
+
         try {
-            return currencyRateRepository.saveAll(currencyRates);
+            currencyRateRepository.upsertAll(currencyRates);
+            rateMetrics.recordSave(sample, currencyRates.size(), true);
+            rateHistoryStore.record(currencyRates);
+
+            return currencyRates;
         } catch (Exception e) {
+            rateMetrics.recordSave(sample, currencyRates.size(), false);
             logger.error("Error saving currency rates to the database", e);
 
             throw new CurrencyRateSaveException("Failed to save currency rates.", e);
@@ -49,7 +133,7 @@ public class CurrencyRateServiceImpl implements CurrencyRateService {
 
     @Override
     public List<CurrencyRate> findCurrencyByCurrentDate() {
-        return findAndSaveRatesByDate(LocalDate.now());
+        return findAndSaveRatesByDate(LocalDate.now(rateClock));
     }
 
     @Override
@@ -57,26 +141,95 @@ public class CurrencyRateServiceImpl implements CurrencyRateService {
         return findAndSaveRatesByDate(date);
     }
 
+    @Override
+    public RateSnapshot findSnapshotByDate(LocalDate date) {
+        Optional<RateSnapshot> cachedSnapshot = rateSnapshotCache.get(date);
+
+        if (cachedSnapshot.isPresent()) {
+            rateMetrics.recordSnapshotLookup(LookupSource.CACHE);
+
+            return cachedSnapshot.get();
+        }
+
+        return loadSnapshotByDate(date);
+    }
+
+    @Override
+    public Optional<RateSnapshot> findStoredSnapshot(LocalDate date) {
+        Optional<RateSnapshot> cachedSnapshot = rateSnapshotCache.get(date);
+
+        if (cachedSnapshot.isPresent()) {
+            rateMetrics.recordSnapshotLookup(LookupSource.CACHE);
+
+            return cachedSnapshot;
+        }
+
+        return findStoredRates(date).map(rates -> cacheIfAllowed(new RateSnapshot(date, rates)));
+    }
+
+    @Override
+    public RateSnapshot saveFetchedSnapshot(LocalDate date, List<CurrencyRate> fetchedRates) {
+        rateMetrics.recordSnapshotLookup(LookupSource.NBU);
+
+        return cacheIfAllowed(new RateSnapshot(date, storeFetchedRates(date, fetchedRates)));
+    }
+
     @Override
     public CurrencyRate findRateByDateAndCurrency(String currencyCode, LocalDate date) {
-        logger.info("Searching for currency rate in the database "
-                + "for currency code: {} on date: {}", currencyCode, date);
+        Optional<CurrencyRate> cachedRate = rateSnapshotCache.get(date)
+                .flatMap(snapshot -> snapshot.findByCode(currencyCode));
+
+        if (cachedRate.isPresent()) {
+            rateMetrics.recordRateLookup(LookupSource.CACHE);
+
+            return cachedRate.get();
+        }
+
+        return rateByCurrencyFlight.execute(
+                new RateKey(currencyCode.toUpperCase(Locale.ROOT), date),
+                () -> loadRateByDateAndCurrency(currencyCode, date));
+    }
+
+    @Override
+    public List<CurrencyRate> findRatesByCurrenciesAndDates(List<RateLookupRequestDto> lookups) {
+        validateLookups(lookups);
+
+        Map<LocalDate, RateSnapshot> snapshots = new HashMap<>();
+        List<LocalDate> uncachedDates = new ArrayList<>();
+
+        for (LocalDate date : lookups.stream()
+                .map(RateLookupRequestDto::getDate)
+                .collect(Collectors.toCollection(LinkedHashSet::new))) {
+            rateSnapshotCache.get(date).ifPresentOrElse(
+                    snapshot -> snapshots.put(date, snapshot),
+                    () -> uncachedDates.add(date));
+        }
 
-        return currencyRateRepository.findCurrencyRateByCcAndExchangeDate(currencyCode, date)
-                .orElseGet(() -> {
-                    logger.info("No currency rate found in the database "
-                                    + "for currency code: {} on date {}, fetching from NBU",
-                            currencyCode, date);
-                    CurrencyRate fetchedRate =
-                            nbuService.fetchRateForCurrencyOnDate(currencyCode, date);
-                    if (fetchedRate != null) {
-                        fetchedRate.setReceivingDate(LocalDateTime.now());
-                        return saveRateToDB(fetchedRate);
-                    } else {
-                        throw new CurrencyRateFetchException("No currency rate received from NBU "
-                                + "for currency code: " + currencyCode + " on date " + date);
-                    }
-                });
+        if (!uncachedDates.isEmpty()) {
+            boolean historyReady = rateHistoryStore.isReady();
+            List<LocalDate> databaseDates = uncachedDates.stream()
+                    .filter(date -> !historyReady || rateHistoryStore.datesBetween(date, date).isEmpty())
+                    .toList();
+            Map<LocalDate, List<CurrencyRate>> storedRates = databaseDates.isEmpty()
+                    ? Map.of()
+                    : currencyRateRepository.findAllByExchangeDateIn(databaseDates).stream()
+                    .collect(Collectors.groupingBy(CurrencyRate::getExchangeDate));
+
+            for (LocalDate date : uncachedDates) {
+                snapshots.put(date, findStoredRates(date,
+                        storedDate -> storedRates.getOrDefault(storedDate, List.of()))
+                        .map(currencyRates -> cacheIfAllowed(new RateSnapshot(date, currencyRates)))
+                        .orElseGet(() -> fetchSnapshotByDate(date)));
+            }
+        }
+
+        return lookups.stream()
+                .map(lookup -> snapshots.get(lookup.getDate())
+                        .findByCode(lookup.getValcode())
+                        .orElseThrow(() -> new CurrencyRateNotFoundException(
+                                "No currency rate found for currency code: "
+                                        + lookup.getValcode() + " on date " + lookup.getDate())))
+                .toList();
     }
 
     @Override
@@ -84,9 +237,14 @@ public class CurrencyRateServiceImpl implements CurrencyRateService {
     public void deleteByDate(LocalDate date) {
         logger.info("Deleting all currency rates on date {}", date);
 
+        int discarded = rateWriteBehindQueue.discard(date);
         int isDeleted = currencyRateRepository.deleteAllByExchangeDate(date);
+        rateSnapshotCache.invalidate(date);
+        serializedRatesCache.invalidate(date);
 
-        if (isDeleted > 0) {
+        if (isDeleted + discarded > 0) {
+            rateHistoryStore.remove(date);
+            rateHistorySnapshotFile.requestWrite();
             logger.info("Deleted currency rates on date: {}", date);
         } else {
             throw new CurrencyRateNotFoundException("No currency rates found to delete on date: "
@@ -94,35 +252,396 @@ public class CurrencyRateServiceImpl implements CurrencyRateService {
         }
     }
 
+    @Override
+    public void ensureRatesForPeriod(LocalDate from, LocalDate to) {
+        validatePeriod(from, to, maxSeriesDays);
+
+        boolean historyReady = rateHistoryStore.isReady();
+        Set<LocalDate> existingDates = new HashSet<>(historyReady
+                ? rateHistoryStore.datesBetween(from, to)
+                : currencyRateRepository.findExchangeDatesBetween(from, to));
+        Set<LocalDate> pendingDates = rateWriteBehindQueue.pendingDatesBetween(from, to);
+        existingDates.addAll(pendingDates);
+
+        if (!historyReady) {
+            flushPendingRates(pendingDates);
+        }
+        List<LocalDate> missingDates = from.datesUntil(to.plusDays(1))
+                .filter(date -> !existingDates.contains(date))
+                .toList();
+
+        if (missingDates.size() > maxMissingSeriesDays) {
+            throw new CurrencyRateFetchException("Too many days without currency rates ("
+                    + missingDates.size() + ") between " + from + " and " + to
+                    + ", run a backfill for this period first");
+        }
+
+        fetchMissingDates(missingDates);
+    }
+
+    @Override
+    public List<CurrencyRate> findRatesSeries(String currencyCode, LocalDate from, LocalDate to) {
+        if (rateHistoryStore.isReady()) {
+            try (Stream<CurrencyRate> currencyRates = rateHistoryStore.series(currencyCode, from, to)) {
+                return currencyRates.toList();
+            }
+        }
+
+        return currencyRateRepository.findAllByCcAndExchangeDateBetweenOrderByExchangeDate(
+                currencyCode.toUpperCase(Locale.ROOT), from, to);
+    }
+
+    @Override
+    public void streamRatesSeries(String currencyCode,
+                                  LocalDate from,
+                                  LocalDate to,
+                                  RateStreamConsumer consumer) throws IOException {
+        if (rateHistoryStore.isReady()) {
+            try (Stream<CurrencyRate> currencyRates = rateHistoryStore.series(currencyCode, from, to)) {
+                consumer.accept(currencyRates);
+            }
+
+            return;
+        }
+
+        consumeInReadOnlyTransaction(() -> currencyRateRepository
+                .streamAllByCcAndExchangeDateBetweenOrderByExchangeDate(
+                        currencyCode.toUpperCase(Locale.ROOT), from, to)
+                .peek(entityManager::detach), consumer);
+    }
+
+    @Override
+    public void streamRatesByPeriod(LocalDate from,
+                                    LocalDate to,
+                                    RateStreamConsumer consumer) throws IOException {
+        flushPendingRates(rateWriteBehindQueue.pendingDatesBetween(from, to));
+        consumeInReadOnlyTransaction(() -> currencyRateRepository
+                .streamAllByExchangeDateBetweenOrderByExchangeDateAscCcAsc(from, to)
+                .peek(entityManager::detach), consumer);
+    }
+
+    @Override
+    public void validateExportPeriod(LocalDate from, LocalDate to) {
+        validatePeriod(from, to, maxExportDays);
+    }
+
+    @Override
+    public void streamRatesForExport(LocalDate from,
+                                     LocalDate to,
+                                     Collection<String> currencyCodes,
+                                     RateStreamConsumer consumer) throws IOException {
+        List<String> codes = currencyCodes == null
+                ? List.of()
+                : currencyCodes.stream()
+                .map(code -> code.trim().toUpperCase(Locale.ROOT))
+                .filter(code -> !code.isEmpty())
+                .distinct()
+                .toList();
+
+        flushPendingRates(rateWriteBehindQueue.pendingDatesBetween(from, to));
+        consumeInReadOnlyTransaction(
+                () -> currencyRateRepository.streamPeriod(from, to, codes), consumer);
+    }
+
+    @Override
+    public RateStatsDto findRateStats(String currencyCode, LocalDate from, LocalDate to) {
+        validatePeriod(from, to, maxStatsDays);
+        String code = currencyCode.toUpperCase(Locale.ROOT);
+
+        flushPendingRates(rateWriteBehindQueue.pendingDatesBetween(from, to));
+        RateAggregate aggregate = currencyRateRepository.aggregateRates(code, from, to)
+                .orElseThrow(() -> new CurrencyRateNotFoundException("No currency rates found "
+                        + "for currency code: " + code + " between " + from + " and " + to));
+        BigDecimal change = aggregate.lastRate().subtract(aggregate.firstRate());
+
+        RateStatsDto stats = new RateStatsDto();
+        stats.setCurrencyCode(code);
+        stats.setFrom(from);
+        stats.setTo(to);
+        stats.setDays(aggregate.days());
+        stats.setMinRate(aggregate.minRate());
+        stats.setMaxRate(aggregate.maxRate());
+        stats.setAvgRate(scaled(aggregate.avgRate()));
+        stats.setStddevRate(scaled(aggregate.stddevRate()));
+        stats.setFirstRate(aggregate.firstRate());
+        stats.setFirstDate(aggregate.firstDate());
+        stats.setLastRate(aggregate.lastRate());
+        stats.setLastDate(aggregate.lastDate());
+        stats.setChange(change);
+        stats.setChangePercent(aggregate.firstRate().signum() == 0
+                ? null
+                : change.multiply(HUNDRED)
+                .divide(aggregate.firstRate(), PERCENT_SCALE, RoundingMode.HALF_EVEN));
+
+        return stats;
+    }
+
+    private void fetchMissingDates(List<LocalDate> missingDates) {
+        Semaphore permits = new Semaphore(maxParallelSeriesFetches);
+        List<CompletableFuture<Void>> fetches;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            fetches = missingDates.stream()
+                    .map(date -> CompletableFuture.runAsync(
+                            () -> fetchMissingDate(date, permits), executor))
+                    .toList();
+        }
+
+        try {
+            CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    private void fetchMissingDate(LocalDate date, Semaphore permits) {
+        permits.acquireUninterruptibly();
+
+        try {
+            findAndSaveRatesByDate(date);
+        } catch (CurrencyRateNotFoundException e) {
+            logger.warn("Skipping date {} in series: {}", date, e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void flushPendingRates(Collection<LocalDate> pendingDates) {
+        List<CurrencyRate> pendingRates = pendingDates.stream()
+                .sorted()
+                .flatMap(date -> rateWriteBehindQueue.pendingRates(date).stream())
+                .toList();
+
+        if (!pendingRates.isEmpty()) {
+            logger.debug("Persisting {} queued currency rates ahead of a database read",
+                    pendingRates.size());
+            currencyRateRepository.upsertAll(pendingRates);
+        }
+    }
+
+    private static BigDecimal scaled(BigDecimal value) {
+        return value == null ? null : value.setScale(STATS_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private void consumeInReadOnlyTransaction(Supplier<Stream<CurrencyRate>> currencyRates,
+                                              RateStreamConsumer consumer) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                try (Stream<CurrencyRate> stream = currencyRates.get()) {
+                    consumer.accept(stream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void validateLookups(List<RateLookupRequestDto> lookups) {
+        if (lookups == null || lookups.isEmpty()) {
+            throw new IllegalArgumentException("At least one currency rate must be requested");
+        }
+        if (lookups.size() > maxLookupBatchSize) {
+            throw new IllegalArgumentException("At most " + maxLookupBatchSize
+                    + " currency rates may be requested at once");
+        }
+
+        for (RateLookupRequestDto lookup : lookups) {
+            if (lookup.getValcode() == null || lookup.getDate() == null) {
+                throw new IllegalArgumentException(
+                        "Both valcode and date must be specified for every currency rate");
+            }
+            if (lookup.getDate().isAfter(LocalDate.now(rateClock))) {
+                throw new CurrencyRateFetchException(
+                        "The date cannot be specified later than the current one");
+            }
+        }
+    }
+
+    private void validatePeriod(LocalDate from, LocalDate to, long maxDays) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The start date must not be after the end date");
+        }
+        if (to.isAfter(LocalDate.now(rateClock))) {
+            throw new CurrencyRateFetchException(
+                    "The date cannot be specified later than the current one");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new IllegalArgumentException("A period may cover at most "
+                    + maxDays + " days");
+        }
+    }
+
+    private RateSnapshot loadSnapshotByDate(LocalDate date) {
+        return ratesByDateFlight.execute(date, () -> rateSnapshotCache.peek(date)
+                .orElseGet(() -> cacheIfAllowed(new RateSnapshot(date, loadRatesByDate(date)))));
+    }
+
+    private RateSnapshot fetchSnapshotByDate(LocalDate date) {
+        return ratesByDateFlight.execute(date, () -> rateSnapshotCache.peek(date)
+                .orElseGet(() -> cacheIfAllowed(new RateSnapshot(date, fetchRatesByDate(date)))));
+    }
+
+    private RateSnapshot cacheIfAllowed(RateSnapshot snapshot) {
+        return snapshot.isCacheable() && snapshot.matchesExchangeDate()
+                ? rateSnapshotCache.put(snapshot)
+                : snapshot;
+    }
+
     private List<CurrencyRate> findAndSaveRatesByDate(LocalDate date) {
-        List<CurrencyRate> currencyRates = currencyRateRepository.findAllByExchangeDate(date);
+        return findSnapshotByDate(date).getRates();
+    }
 
-        if (currencyRates != null && !currencyRates.isEmpty()) {
-            logger.info("Found {} currency rates in the database for date: {}",
-                    currencyRates.size(), date);
+    private CurrencyRate loadRateByDateAndCurrency(String currencyCode, LocalDate date) {
+        logger.debug("Searching for currency rate in the database "
+                + "for currency code: {} on date: {}", currencyCode, date);
 
-            return currencyRates;
-        } else {
-            logger.info("No currency rates found in the database "
-                    + "for date: {}, fetching from NBU", date);
+        Optional<CurrencyRate> historyRate = rateHistoryStore.isReady()
+                ? rateHistoryStore.findRate(currencyCode, date)
+                : Optional.empty();
+
+        if (historyRate.isPresent()) {
+            rateMetrics.recordRateLookup(LookupSource.HISTORY);
+
+            return historyRate.get();
+        }
+
+        Optional<CurrencyRate> storedRate =
+                currencyRateRepository.findCurrencyRateByCcAndExchangeDate(currencyCode, date);
+
+        if (storedRate.isPresent()) {
+            rateMetrics.recordRateLookup(LookupSource.DATABASE);
+
+            return storedRate.get();
+        }
+
+        Optional<CurrencyRate> pendingRate = rateWriteBehindQueue.pendingRate(currencyCode, date);
 
-            List<CurrencyRate> fetchedRates;
+        if (pendingRate.isPresent()) {
+            rateMetrics.recordRateLookup(LookupSource.WRITE_BEHIND);
 
-            if (date.isEqual(LocalDate.now())) {
-                fetchedRates = nbuService.fetchCurrentRates();
-            } else {
-                fetchedRates = nbuService.fetchRatesForDate(date);
+            return pendingRate.get();
+        }
+
+        logger.info("No currency rate found in the database "
+                        + "for currency code: {} on date {}, fetching from NBU",
+                currencyCode, date);
+        rateMetrics.recordRateLookup(LookupSource.NBU);
+        CurrencyRate fetchedRate = nbuService.fetchRateForCurrencyOnDate(currencyCode, date);
+
+        if (fetchedRate != null) {
+            if (fetchedRate.isFallback()) {
+                logger.warn("Serving last known NBU rate for currency code: {} on date {} "
+                        + "without storing it", currencyCode, date);
+
+                return fetchedRate;
+            }
+            fetchedRate.setReceivingDate(LocalDateTime.now(rateClock));
+            if (rateWriteBehindQueue.offer(List.of(fetchedRate))) {
+                rateHistoryStore.record(List.of(fetchedRate));
+
+                return fetchedRate;
             }
 
-            if (fetchedRates == null || fetchedRates.isEmpty()) {
-                logger.warn("No currency rates received from NBU for date: {}", date);
+            return saveRateToDB(fetchedRate);
+        } else {
+            throw new CurrencyRateFetchException("No currency rate received from NBU "
+                    + "for currency code: " + currencyCode + " on date " + date);
+        }
+    }
+
+    private List<CurrencyRate> loadRatesByDate(LocalDate date) {
+        return findStoredRates(date).orElseGet(() -> fetchRatesByDate(date));
+    }
+
+    private List<CurrencyRate> fetchRatesByDate(LocalDate date) {
+        logger.info("No currency rates found in the database "
+                + "for date: {}, fetching from NBU", date);
+
+        List<CurrencyRate> fetchedRates;
+        rateMetrics.recordSnapshotLookup(LookupSource.NBU);
+
+        if (date.isEqual(LocalDate.now(rateClock))) {
+            fetchedRates = nbuService.fetchCurrentRates();
+        } else {
+            fetchedRates = nbuService.fetchRatesForDate(date);
+        }
+
+        return storeFetchedRates(date, fetchedRates);
+    }
+
+    private Optional<List<CurrencyRate>> findStoredRates(LocalDate date) {
+        return findStoredRates(date, currencyRateRepository::findAllByExchangeDate);
+    }
+
+    private Optional<List<CurrencyRate>> findStoredRates(
+            LocalDate date, Function<LocalDate, List<CurrencyRate>> databaseRates) {
+        if (rateHistoryStore.isReady()) {
+            List<CurrencyRate> historyRates = rateHistoryStore.ratesOn(date);
+
+            if (!historyRates.isEmpty()) {
+                logger.debug("Found {} currency rates in the history store for date: {}",
+                        historyRates.size(), date);
+                rateMetrics.recordSnapshotLookup(LookupSource.HISTORY);
 
-                throw new CurrencyRateNotFoundException("No currency rates available "
-                        + "for date: " + date);
+                return Optional.of(historyRates);
             }
-            fetchedRates.forEach(cr -> cr.setReceivingDate(LocalDateTime.now()));
+        }
+
+        List<CurrencyRate> currencyRates = databaseRates.apply(date);
+
+        if (currencyRates != null && !currencyRates.isEmpty()) {
+            logger.debug("Found {} currency rates in the database for date: {}",
+                    currencyRates.size(), date);
+            rateMetrics.recordSnapshotLookup(LookupSource.DATABASE);
+
+            return Optional.of(currencyRates);
+        }
+
+        List<CurrencyRate> pendingRates = rateWriteBehindQueue.pendingRates(date);
+
+        if (!pendingRates.isEmpty()) {
+            logger.debug("Found {} currency rates waiting in the write-behind queue for date: {}",
+                    pendingRates.size(), date);
+            rateMetrics.recordSnapshotLookup(LookupSource.WRITE_BEHIND);
+
+            return Optional.of(pendingRates);
+        }
 
-            return saveAllToDB(fetchedRates);
+        return Optional.empty();
+    }
+
+    private List<CurrencyRate> storeFetchedRates(LocalDate date, List<CurrencyRate> fetchedRates) {
+        if (fetchedRates == null || fetchedRates.isEmpty()) {
+            logger.warn("No currency rates received from NBU for date: {}", date);
+
+            throw new CurrencyRateNotFoundException("No currency rates available "
+                    + "for date: " + date);
         }
+        if (fetchedRates.stream().anyMatch(CurrencyRate::isFallback)) {
+            logger.warn("Serving last known NBU rates for date: {} without storing them", date);
+
+            return fetchedRates;
+        }
+        fetchedRates.forEach(cr -> cr.setReceivingDate(LocalDateTime.now(rateClock)));
+
+        if (rateWriteBehindQueue.offer(fetchedRates)) {
+            rateHistoryStore.record(fetchedRates);
+
+            return fetchedRates;
+        }
+
+        return saveAllToDB(fetchedRates);
+    }
+
+    private record RateKey(String currencyCode, LocalDate date) {
     }
 }
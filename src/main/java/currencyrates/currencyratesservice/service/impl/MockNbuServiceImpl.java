@@ -2,14 +2,19 @@ package currencyrates.currencyratesservice.service.impl;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import currencyrates.currencyratesservice.exception.CurrencyRateFetchException;
 import currencyrates.currencyratesservice.model.CurrencyRate;
 import currencyrates.currencyratesservice.service.NbuService;
+import currencyrates.currencyratesservice.service.mock.MockRateDataset;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,48 +27,73 @@ public class MockNbuServiceImpl implements NbuService {
     //region Fields
     private static final Logger logger = LogManager.getLogger(MockNbuServiceImpl.class);
     private final ObjectMapper objectMapper;
+    private final Clock rateClock;
+    private volatile MockRateDataset dataset = MockRateDataset.empty();
     @Value("${nbu.api.mock-data}")
     private String nbuDataPath;
+    @Value("${nbu.api.mock-latency}")
+    private Duration latency;
     //endregion
 
-    public MockNbuServiceImpl() {
+    public MockNbuServiceImpl(Clock rateClock) {
         this.objectMapper = new ObjectMapper()
                 .registerModule(new JavaTimeModule());
+        this.rateClock = rateClock;
+    }
+
+    @PostConstruct
+    public void loadMockData() {
+        dataset = MockRateDataset.of(readMockData());
+
+        logger.info("Loaded {} mock currency rates for {} dates from '{}'",
+                dataset.size(), dataset.dateCount(), nbuDataPath);
     }
 
     @Override
     public List<CurrencyRate> fetchCurrentRates() {
-        logger.info("Fetching mock data for current currency rates");
+        logger.debug("Fetching mock data for current currency rates");
+
+        simulateLatency();
 
-        return fetchMockData();
+        return dataset.ratesOn(LocalDate.now(rateClock));
     }
 
     @Override
     public List<CurrencyRate> fetchRatesForDate(LocalDate date) {
-        logger.info("Fetching mock data for currency rates on date: {}", date);
+        logger.debug("Fetching mock data for currency rates on date: {}", date);
 
         isAfterThanCurrentDate(date);
+        simulateLatency();
 
-        final List<CurrencyRate> currencyRates = fetchMockData();
-        currencyRates.forEach(rate -> rate.setExchangeDate(date));
+        return dataset.ratesOn(date);
+    }
+
+    @Override
+    public CompletableFuture<List<CurrencyRate>> fetchCurrentRatesAsync() {
+        return CompletableFuture.completedFuture(fetchCurrentRates());
+    }
 
-        return currencyRates;
+    @Override
+    public CompletableFuture<List<CurrencyRate>> fetchRatesForDateAsync(LocalDate date) {
+        try {
+            return CompletableFuture.completedFuture(fetchRatesForDate(date));
+        } catch (CurrencyRateFetchException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
     public CurrencyRate fetchRateForCurrencyOnDate(String currencyCode, LocalDate date) {
         isAfterThanCurrentDate(date);
 
-        logger.info("Fetching mock data for currency code: {} on date: {}", currencyCode, date);
+        logger.debug("Fetching mock data for currency code: {} on date: {}", currencyCode, date);
 
-        return fetchMockData().stream()
-                .filter(rate -> currencyCode.equalsIgnoreCase(rate.getCc()))
-                .peek(rate -> rate.setExchangeDate(date))
-                .findFirst()
-                .orElse(null);
+        simulateLatency();
+
+        return dataset.rateOn(currencyCode, date).orElse(null);
     }
 
-    private List<CurrencyRate> fetchMockData() {
+    private List<CurrencyRate> readMockData() {
         try (InputStream is = getClass().getClassLoader().getResourceAsStream(nbuDataPath)) {
             if (is == null) {
                 logger.error("Mock data file '{}' not found", nbuDataPath);
@@ -82,8 +112,20 @@ public class MockNbuServiceImpl implements NbuService {
         }
     }
 
+    private void simulateLatency() {
+        if (latency == null || latency.isZero()) {
+            return;
+        }
+
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public void isAfterThanCurrentDate(LocalDate date) {
-        if (date.isAfter(LocalDate.now())) {
+        if (date.isAfter(LocalDate.now(rateClock))) {
             throw new CurrencyRateFetchException(
                     "The date cannot be specified later than the current one");
         }
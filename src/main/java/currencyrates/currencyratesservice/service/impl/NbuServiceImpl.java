@@ -1,22 +1,40 @@
 package currencyrates.currencyratesservice.service.impl;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import currencyrates.currencyratesservice.exception.NbuUnavailableException;
 import currencyrates.currencyratesservice.model.CurrencyRate;
 import currencyrates.currencyratesservice.service.NbuService;
+import currencyrates.currencyratesservice.service.nbu.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Profile;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @Service
@@ -26,76 +44,306 @@ public class NbuServiceImpl implements NbuService {
     private static final String DATE_FORMAT = "yyyyMMdd";
     private static final String URL_DATE_ENDPOINT = "date";
     private static final String URL_VALCODE_ENDPOINT = "valcode";
-    private static final int DURATION = 10;
+    private static final int LAST_KNOWN_MAX_SIZE = 64;
     private static final Logger logger = LogManager.getLogger(NbuServiceImpl.class);
-    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary responseSize;
+    private final Counter retries;
+    private final Counter lastKnownFallbacks;
+    private final Counter unavailableFallbacks;
+    private final Map<String, Timer> attemptTimers = new ConcurrentHashMap<>();
+    private final Map<String, List<CurrencyRate>> lastKnownRates =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<CurrencyRate>> eldest) {
+                    return size() > LAST_KNOWN_MAX_SIZE;
+                }
+            };
     @Value("${nbu.api.url}")
     private String nbuApiUrl;
     //endregion
 
-    public NbuServiceImpl(RestTemplateBuilder restTemplateBuilder) {
-        this.restTemplate = restTemplateBuilder
-                .setConnectTimeout(Duration.ofSeconds(DURATION))
-                .setReadTimeout(Duration.ofSeconds(DURATION))
-                .build();
+    public NbuServiceImpl(
+            HttpClient nbuHttpClient,
+            ObjectMapper objectMapper,
+            @Value("${nbu.client.request-timeout}") Duration requestTimeout,
+            @Value("${nbu.client.retry.max-attempts}") int maxAttempts,
+            @Value("${nbu.client.retry.initial-backoff}") Duration initialBackoff,
+            @Value("${nbu.client.retry.max-backoff}") Duration maxBackoff,
+            @Value("${nbu.client.circuit.failure-threshold}") int failureThreshold,
+            @Value("${nbu.client.circuit.open-duration}") Duration openDuration,
+            MeterRegistry meterRegistry) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("NBU client max attempts must be positive");
+        }
+        this.httpClient = nbuHttpClient;
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.meterRegistry = meterRegistry;
+        this.responseSize = DistributionSummary.builder("nbu.response.size")
+                .description("Size of NBU response bodies")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.retries = Counter.builder("nbu.retries")
+                .description("NBU request attempts retried after a transient failure")
+                .register(meterRegistry);
+        this.lastKnownFallbacks = Counter.builder("nbu.fallbacks")
+                .tag("result", "last_known")
+                .register(meterRegistry);
+        this.unavailableFallbacks = Counter.builder("nbu.fallbacks")
+                .tag("result", "unavailable")
+                .register(meterRegistry);
+        Gauge.builder("nbu.circuit.state", circuitBreaker, NbuServiceImpl::circuitStateValue)
+                .description("NBU circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
     }
 
     @Override
     public List<CurrencyRate> fetchCurrentRates() {
-        logger.info("Fetching current currency rates from NBU");
-
-        return fetchCurrencyRates(nbuApiUrl, CurrencyRate[].class);
+        return join(fetchCurrentRatesAsync());
     }
 
     @Override
     public List<CurrencyRate> fetchRatesForDate(LocalDate date) {
-        logger.info("Fetching currency rates from NBU on date: {}", date);
+        return join(fetchRatesForDateAsync(date));
+    }
+
+    @Override
+    public CompletableFuture<List<CurrencyRate>> fetchCurrentRatesAsync() {
+        logger.debug("Fetching current currency rates from NBU");
+
+        return fetchCurrencyRates(nbuApiUrl);
+    }
+
+    @Override
+    public CompletableFuture<List<CurrencyRate>> fetchRatesForDateAsync(LocalDate date) {
+        logger.debug("Fetching currency rates from NBU on date: {}", date);
 
         String formattedDate = date.format(DateTimeFormatter.ofPattern(DATE_FORMAT));
         String urlWithDate = UriComponentsBuilder.fromHttpUrl(nbuApiUrl)
                 .queryParam(URL_DATE_ENDPOINT, formattedDate)
                 .toUriString();
 
-        return fetchCurrencyRates(urlWithDate, CurrencyRate[].class);
+        return fetchCurrencyRates(urlWithDate);
     }
 
     @Override
     public CurrencyRate fetchRateForCurrencyOnDate(String currencyCode, LocalDate date) {
-        logger.info("Fetching currency rates from NBU for currency code: {} on date: {}",
-                date, currencyCode);
+        logger.debug("Fetching currency rates from NBU for currency code: {} on date: {}",
+                currencyCode, date);
 
         String formattedDate = date.format(DateTimeFormatter.ofPattern(DATE_FORMAT));
         String urlWithCurrencyAndDate = UriComponentsBuilder.fromHttpUrl(nbuApiUrl)
                 .queryParam(URL_VALCODE_ENDPOINT, currencyCode)
-                .queryParam(DATE_FORMAT, formattedDate)
+                .queryParam(URL_DATE_ENDPOINT, formattedDate)
                 .toUriString();
-        List<CurrencyRate> rates = fetchCurrencyRates(
-                urlWithCurrencyAndDate,
-                CurrencyRate[].class);
+        List<CurrencyRate> rates = join(fetchCurrencyRates(urlWithCurrencyAndDate));
 
         return rates.isEmpty() ? null : rates.get(0);
     }
 
-    private <T> List<T> fetchCurrencyRates(String url, Class<T[]> responseType) {
-        logger.info("Making HTTP request to URL: {}", url);
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
 
-        try {
-            ResponseEntity<T[]> response = restTemplate.getForEntity(url, responseType);
+    private CompletableFuture<List<CurrencyRate>> fetchCurrencyRates(String url) {
+        if (!circuitBreaker.allowRequest()) {
+            return fallback(url, new NbuUnavailableException("NBU circuit is open"));
+        }
+
+        return attempt(url, 1)
+                .handle((rates, error) -> {
+                    if (error == null) {
+                        circuitBreaker.recordSuccess();
+                        remember(url, rates);
+
+                        return CompletableFuture.completedFuture(rates);
+                    }
+                    circuitBreaker.recordFailure();
+
+                    return fallback(url, unwrap(error));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<List<CurrencyRate>> attempt(String url, int attempt) {
+        logger.debug("Making HTTP request to URL: {} (attempt {})", url, attempt);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        long startNanos = System.nanoTime();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> recordAttempt(startNanos, response))
+                .thenApply(response -> readRates(url, response))
+                .handle((rates, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(rates);
+                    }
+                    Throwable cause = unwrap(error);
+
+                    if (attempt >= maxAttempts || !isTransient(cause)) {
+                        return CompletableFuture.<List<CurrencyRate>>failedFuture(cause);
+                    }
+                    long delayMillis = backoffMillis(attempt);
+                    retries.increment();
+                    logger.warn("NBU request to {} failed ({}), retrying in {} ms",
+                            url, cause.toString(), delayMillis);
+                    Executor delayed = CompletableFuture.delayedExecutor(
+                            delayMillis, TimeUnit.MILLISECONDS);
+
+                    return CompletableFuture.runAsync(() -> { }, delayed)
+                            .thenCompose(ignored -> attempt(url, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                logger.debug("Received currency rates: {}", Arrays.toString(response.getBody()));
+    private List<CurrencyRate> readRates(String url, HttpResponse<byte[]> response) {
+        int status = response.statusCode();
 
-                return Arrays.asList(response.getBody());
-            } else {
-                logger.warn("No currency rates received. Status code: {}",
-                        response.getStatusCode());
+        if (status == 200) {
+            try {
+                CurrencyRate[] rates = objectMapper.readValue(response.body(), CurrencyRate[].class);
+                logger.debug("Received {} currency rates from {}", rates.length, url);
 
-                return List.of();
+                return Arrays.asList(rates);
+            } catch (IOException e) {
+                throw new CompletionException(e);
             }
-        } catch (RestClientException e) {
-            logger.error("Error fetching currency rates", e);
+        }
+        if (status == 429 || status >= 500) {
+            throw new NbuUnavailableException("NBU responded with status " + status);
+        }
+        logger.warn("No currency rates received. Status code: {}", status);
+
+        return List.of();
+    }
+
+    private CompletableFuture<List<CurrencyRate>> fallback(String url, Throwable error) {
+        List<CurrencyRate> lastKnown;
+
+        synchronized (lastKnownRates) {
+            lastKnown = lastKnownRates.get(url);
+        }
+
+        if (lastKnown != null) {
+            lastKnownFallbacks.increment();
+            logger.warn("NBU unavailable ({}), serving last known rates for {}", error.toString(), url);
 
-            return List.of();
+            return CompletableFuture.completedFuture(copyOf(lastKnown, true));
         }
+
+        unavailableFallbacks.increment();
+        NbuUnavailableException exception = error instanceof NbuUnavailableException nbuError
+                ? nbuError
+                : new NbuUnavailableException("NBU request failed: " + error.getMessage(), error);
+
+        return CompletableFuture.failedFuture(exception);
+    }
+
+    private void recordAttempt(long startNanos, HttpResponse<byte[]> response) {
+        String outcome;
+        String status;
+
+        if (response == null) {
+            outcome = "io_error";
+            status = "none";
+        } else {
+            int statusCode = response.statusCode();
+            outcome = statusCode < 400 ? "success" : statusCode < 500 ? "client_error" : "server_error";
+            status = String.valueOf(statusCode);
+            responseSize.record(response.body() == null ? 0 : response.body().length);
+        }
+
+        attemptTimers.computeIfAbsent(outcome + '|' + status, key -> Timer.builder("nbu.requests")
+                        .description("NBU request attempts")
+                        .tag("outcome", outcome)
+                        .tag("status", status)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static double circuitStateValue(CircuitBreaker circuitBreaker) {
+        return switch (circuitBreaker.getState()) {
+            case CLOSED -> 0;
+            case HALF_OPEN -> 1;
+            case OPEN -> 2;
+        };
+    }
+
+    private void remember(String url, List<CurrencyRate> rates) {
+        if (rates.isEmpty()) {
+            return;
+        }
+
+        synchronized (lastKnownRates) {
+            lastKnownRates.put(url, copyOf(rates, false));
+        }
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(),
+                initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private static boolean isTransient(Throwable error) {
+        return error instanceof IOException || error instanceof NbuUnavailableException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+
+        return error;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new NbuUnavailableException("NBU request failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static List<CurrencyRate> copyOf(List<CurrencyRate> rates, boolean fallback) {
+        return rates.stream()
+                .map(rate -> {
+                    CurrencyRate copy = new CurrencyRate();
+                    copy.setR030(rate.getR030());
+                    copy.setTxt(rate.getTxt());
+                    copy.setRate(rate.getRate());
+                    copy.setCc(rate.getCc());
+                    copy.setExchangeDate(rate.getExchangeDate());
+                    copy.setFallback(fallback);
+
+                    return copy;
+                })
+                .toList();
     }
 }
@@ -0,0 +1,341 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import currencyrates.currencyratesservice.dto.ImportReportDto;
+import currencyrates.currencyratesservice.dto.RejectedLineDto;
+import currencyrates.currencyratesservice.exception.CurrencyRateSaveException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.RateImportService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshotCache;
+import currencyrates.currencyratesservice.service.cache.SerializedRatesCache;
+import currencyrates.currencyratesservice.service.importer.RateImportFormat;
+import currencyrates.currencyratesservice.service.importer.RateImportParser;
+import currencyrates.currencyratesservice.service.importer.RateImportSink;
+import currencyrates.currencyratesservice.service.importer.RawRate;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RateImportServiceImpl implements RateImportService {
+    //region Fields
+    private static final Logger logger = LogManager.getLogger(RateImportServiceImpl.class);
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+    private static final DateTimeFormatter NBU_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final int MAX_R030 = 999;
+    private static final Comparator<RateKey> KEY_ORDER = Comparator
+            .comparing(RateKey::currencyCode)
+            .thenComparing(RateKey::date);
+    private final CurrencyRateService currencyRateService;
+    private final RateImportParser rateImportParser;
+    private final RateSnapshotCache rateSnapshotCache;
+    private final SerializedRatesCache serializedRatesCache;
+    private final ExecutorService importExecutor;
+    private final int workers;
+    private final int batchSize;
+    private final int maxReportedRejections;
+    private final Clock rateClock;
+    //endregion
+
+    public RateImportServiceImpl(CurrencyRateService currencyRateService,
+                                 RateImportParser rateImportParser,
+                                 RateSnapshotCache rateSnapshotCache,
+                                 SerializedRatesCache serializedRatesCache,
+                                 Clock rateClock,
+                                 @Value("${rates.import.workers}") int workers,
+                                 @Value("${rates.import.batch-size}") int batchSize,
+                                 @Value("${rates.import.max-reported-rejections}")
+                                 int maxReportedRejections,
+                                 @Value("${spring.threads.virtual.enabled}")
+                                 boolean virtualThreads) {
+        this.currencyRateService = currencyRateService;
+        this.rateImportParser = rateImportParser;
+        this.rateSnapshotCache = rateSnapshotCache;
+        this.serializedRatesCache = serializedRatesCache;
+        this.importExecutor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(workers);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxReportedRejections = maxReportedRejections;
+        this.rateClock = rateClock;
+    }
+
+    @Override
+    public ImportReportDto importRates(InputStream input, RateImportFormat format) throws IOException {
+        long startNanos = System.nanoTime();
+        ImportRun run = new ImportRun();
+
+        long rowsRead;
+        try {
+            rowsRead = rateImportParser.parse(input, format, batchSize, run);
+            run.flush();
+        } finally {
+            run.awaitBatches();
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        ImportReportDto report = new ImportReportDto();
+        report.setFormat(format.name().toLowerCase(Locale.ROOT));
+        report.setRowsRead(rowsRead);
+        report.setRowsImported(run.imported.get());
+        report.setRowsRejected(run.rejected.get());
+        report.setRowsSuperseded(run.superseded.get());
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        report.setRowsPerSecond(elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos);
+        report.setRejectedLines(run.rejectedLines());
+
+        logger.info("Imported {} of {} currency rates ({} rejected, {} superseded) in {} ms, {} rows/s",
+                report.getRowsImported(), rowsRead, report.getRowsRejected(), report.getRowsSuperseded(),
+                report.getElapsedMillis(), Math.round(report.getRowsPerSecond()));
+
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        importExecutor.shutdownNow();
+        importExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void importBatch(List<ParsedRate> batch, ImportRun run) {
+        Map<RateKey, ParsedRate> parsedRates = new TreeMap<>(KEY_ORDER);
+
+        for (ParsedRate parsed : batch) {
+            ParsedRate replaced = parsedRates.put(parsed.key(), parsed);
+            if (replaced != null) {
+                run.supersede(replaced.line(), parsed.line());
+            }
+        }
+
+        try {
+            currencyRateService.saveAllToDB(parsedRates.values().stream()
+                    .map(ParsedRate::rate)
+                    .toList());
+            for (ParsedRate parsed : parsedRates.values()) {
+                Long replacedLine = run.importedLines.put(parsed.key(), parsed.line());
+                if (replacedLine == null) {
+                    run.imported.incrementAndGet();
+                } else {
+                    run.supersede(replacedLine, parsed.line());
+                }
+            }
+        } catch (CurrencyRateSaveException e) {
+            parsedRates.values().forEach(parsed -> run.reject(parsed.line(),
+                    "Failed to save the batch: " + e.getMessage()));
+        }
+
+        parsedRates.keySet().stream()
+                .map(RateKey::date)
+                .distinct()
+                .forEach(date -> {
+                    rateSnapshotCache.invalidate(date);
+                    serializedRatesCache.invalidate(date);
+                });
+    }
+
+    private CurrencyRate toCurrencyRate(RawRate raw, LocalDateTime receivingDate) {
+        String currencyCode = required(raw.cc(), "currency code").toUpperCase(Locale.ROOT);
+        if (!CURRENCY_CODE.matcher(currencyCode).matches()) {
+            throw new IllegalArgumentException("Invalid currency code: " + raw.cc());
+        }
+
+        BigDecimal rate;
+        try {
+            rate = new BigDecimal(required(raw.rate(), "rate"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rate: " + raw.rate());
+        }
+        if (rate.signum() <= 0) {
+            throw new IllegalArgumentException("The rate must be positive: " + raw.rate());
+        }
+
+        LocalDate exchangeDate = parseDate(required(raw.exchangeDate(), "exchange date"));
+        if (exchangeDate.isAfter(LocalDate.now(rateClock))) {
+            throw new IllegalArgumentException("The exchange date cannot be later than the current one: "
+                    + raw.exchangeDate());
+        }
+
+        CurrencyRate currencyRate = new CurrencyRate();
+        currencyRate.setR030(parseR030(raw.r030()));
+        currencyRate.setTxt(raw.txt());
+        currencyRate.setRate(rate);
+        currencyRate.setCc(currencyCode);
+        currencyRate.setExchangeDate(exchangeDate);
+        currencyRate.setReceivingDate(receivingDate);
+
+        return currencyRate;
+    }
+
+    private static String required(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+
+        return value.trim();
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return value.indexOf('.') > 0
+                    ? LocalDate.parse(value, NBU_DATE_FORMAT)
+                    : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid exchange date: " + value);
+        }
+    }
+
+    private static Long parseR030(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        long r030;
+        try {
+            r030 = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid r030 currency number: " + value);
+        }
+        if (r030 <= 0 || r030 > MAX_R030) {
+            throw new IllegalArgumentException("Invalid r030 currency number: " + value);
+        }
+
+        return r030;
+    }
+
+    private final class ImportRun implements RateImportSink {
+        //region Fields
+        private final Semaphore permits = new Semaphore(workers);
+        private final List<List<ParsedRate>> pendingByLane = new ArrayList<>(workers);
+        private final List<CompletableFuture<?>> lanes = new ArrayList<>(workers);
+        private final List<Future<?>> batches = new ArrayList<>();
+        private final Map<RateKey, Long> importedLines = new ConcurrentHashMap<>();
+        private final List<RejectedLineDto> rejectedLines = new ArrayList<>();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong superseded = new AtomicLong();
+        //endregion
+
+        private ImportRun() {
+            for (int lane = 0; lane < workers; lane++) {
+                pendingByLane.add(new ArrayList<>(batchSize));
+                lanes.add(CompletableFuture.completedFuture(null));
+            }
+        }
+
+        @Override
+        public void accept(List<RawRate> chunk) {
+            LocalDateTime receivingDate = LocalDateTime.now(rateClock);
+
+            for (RawRate raw : chunk) {
+                try {
+                    CurrencyRate rate = toCurrencyRate(raw, receivingDate);
+                    RateKey key = new RateKey(rate.getCc(), rate.getExchangeDate());
+                    int lane = Math.floorMod(key.hashCode(), workers);
+                    List<ParsedRate> pending = pendingByLane.get(lane);
+
+                    pending.add(new ParsedRate(raw.line(), key, rate));
+                    if (pending.size() == batchSize) {
+                        dispatch(lane);
+                    }
+                } catch (IllegalArgumentException e) {
+                    reject(raw.line(), e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void reject(long line, String reason) {
+            rejected.incrementAndGet();
+
+            synchronized (rejectedLines) {
+                if (rejectedLines.size() < maxReportedRejections) {
+                    rejectedLines.add(new RejectedLineDto(line, reason));
+                }
+            }
+        }
+
+        private void supersede(long line, long supersedingLine) {
+            superseded.incrementAndGet();
+            logger.debug("Import line {} superseded by line {} for the same currency and date",
+                    line, supersedingLine);
+        }
+
+        private void flush() {
+            for (int lane = 0; lane < workers; lane++) {
+                if (!pendingByLane.get(lane).isEmpty()) {
+                    dispatch(lane);
+                }
+            }
+        }
+
+        private void dispatch(int lane) {
+            List<ParsedRate> batch = pendingByLane.set(lane, new ArrayList<>(batchSize));
+            permits.acquireUninterruptibly();
+
+            CompletableFuture<?> next = lanes.get(lane).handleAsync((ignored, failure) -> {
+                importBatch(batch, this);
+
+                return null;
+            }, importExecutor);
+            next.whenComplete((ignored, failure) -> permits.release());
+            lanes.set(lane, next);
+            batches.add(next);
+        }
+
+        private void awaitBatches() {
+            for (Future<?> batch : batches) {
+                try {
+                    batch.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while importing currency rates", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Failed to import currency rates", e.getCause());
+                }
+            }
+        }
+
+        private List<RejectedLineDto> rejectedLines() {
+            synchronized (rejectedLines) {
+                List<RejectedLineDto> sorted = new ArrayList<>(rejectedLines);
+                sorted.sort(Comparator.comparingLong(RejectedLineDto::getLine));
+
+                return sorted;
+            }
+        }
+    }
+
+    private record RateKey(String currencyCode, LocalDate date) {
+    }
+
+    private record ParsedRate(long line, RateKey key, CurrencyRate rate) {
+    }
+}
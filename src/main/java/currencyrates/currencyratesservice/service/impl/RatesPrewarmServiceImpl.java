@@ -0,0 +1,123 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import currencyrates.currencyratesservice.dto.PrewarmStatusDto;
+import currencyrates.currencyratesservice.exception.CurrencyRateNotFoundException;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.RatesPrewarmService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RatesPrewarmServiceImpl implements RatesPrewarmService {
+    //region Fields
+    private static final Logger logger = LogManager.getLogger(RatesPrewarmServiceImpl.class);
+    private final CurrencyRateService currencyRateService;
+    private final TaskScheduler taskScheduler;
+    private final Clock rateClock;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile LocalDateTime lastSuccess;
+    private volatile LocalDateTime lastAttempt;
+    private volatile String lastError;
+    @Value("${rates.prewarm.on-startup}")
+    private boolean prewarmOnStartup;
+    @Value("${rates.prewarm.retry.initial-delay}")
+    private Duration initialRetryDelay;
+    @Value("${rates.prewarm.retry.max-delay}")
+    private Duration maxRetryDelay;
+    @Value("${rates.prewarm.retry.max-attempts}")
+    private int maxAttempts;
+    //endregion
+
+    public RatesPrewarmServiceImpl(CurrencyRateService currencyRateService,
+                                   TaskScheduler taskScheduler,
+                                   Clock rateClock) {
+        this.currencyRateService = currencyRateService;
+        this.taskScheduler = taskScheduler;
+        this.rateClock = rateClock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarmOnStartup() {
+        if (prewarmOnStartup) {
+            taskScheduler.schedule(this::prewarmCurrentRates, Instant.now());
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${rates.prewarm.cron}", zone = "${rates.zone}")
+    public void prewarmCurrentRates() {
+        attemptPrewarm(LocalDate.now(rateClock), 1);
+    }
+
+    @Override
+    public PrewarmStatusDto getStatus() {
+        PrewarmStatusDto status = new PrewarmStatusDto();
+        LocalDateTime success = lastSuccess;
+        status.setLastSuccess(success);
+        status.setLastAttempt(lastAttempt);
+        status.setLagSeconds(success == null
+                ? null
+                : Duration.between(success, LocalDateTime.now(rateClock)).toSeconds());
+        status.setConsecutiveFailures(consecutiveFailures.get());
+        status.setLastError(lastError);
+
+        return status;
+    }
+
+    private void attemptPrewarm(LocalDate date, int attempt) {
+        lastAttempt = LocalDateTime.now(rateClock);
+
+        try {
+            RateSnapshot snapshot = currencyRateService.findSnapshotByDate(date);
+
+            if (snapshot.getRates().isEmpty() || !snapshot.isCacheable()
+                    || !snapshot.matchesExchangeDate()) {
+                throw new CurrencyRateNotFoundException("NBU has not published currency rates "
+                        + "for date: " + date + " yet");
+            }
+
+            lastSuccess = LocalDateTime.now(rateClock);
+            lastError = null;
+            consecutiveFailures.set(0);
+
+            logger.info("Pre-warmed {} currency rates for {} on attempt {}",
+                    snapshot.getRates().size(), date, attempt);
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            consecutiveFailures.incrementAndGet();
+
+            if (attempt >= maxAttempts) {
+                logger.error("Giving up pre-warming currency rates for {} "
+                        + "after {} attempts", date, attempt, e);
+
+                return;
+            }
+            Duration delay = retryDelay(attempt);
+
+            logger.warn("Failed to pre-warm currency rates for {} on attempt {}, "
+                    + "retrying in {}: {}", date, attempt, delay, e.getMessage());
+
+            taskScheduler.schedule(() -> attemptPrewarm(date, attempt + 1),
+                    Instant.now().plus(delay));
+        }
+    }
+
+    private Duration retryDelay(int attempt) {
+        Duration delay = initialRetryDelay.multipliedBy(1L << Math.min(attempt - 1, 20));
+
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+}
@@ -0,0 +1,91 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import currencyrates.currencyratesservice.exception.CurrencyRateNotFoundException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.NbuService;
+import currencyrates.currencyratesservice.service.ReactiveCurrencyRateService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import currencyrates.currencyratesservice.service.cache.RateSnapshotCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "rates.reactive.enabled", havingValue = "true")
+public class ReactiveCurrencyRateServiceImpl implements ReactiveCurrencyRateService {
+    //region Fields
+    private final CurrencyRateService currencyRateService;
+    private final NbuService nbuService;
+    private final RateSnapshotCache rateSnapshotCache;
+    private final Clock rateClock;
+    @Value("${rates.reactive.page-days}")
+    private int pageDays;
+    //endregion
+
+    @Override
+    public Mono<RateSnapshot> findSnapshotByDate(LocalDate date) {
+        return cachedOrBlocking(date, () -> currencyRateService.findStoredSnapshot(date))
+                .mapNotNull(storedSnapshot -> storedSnapshot.orElse(null))
+                .switchIfEmpty(Mono.defer(() -> fetchSnapshot(date)));
+    }
+
+    @Override
+    public Mono<CurrencyRate> findRateByDateAndCurrency(String currencyCode, LocalDate date) {
+        return findSnapshotByDate(date)
+                .flatMap(snapshot -> Mono.justOrEmpty(snapshot.findByCode(currencyCode)))
+                .switchIfEmpty(Mono.error(() -> new CurrencyRateNotFoundException(
+                        "No currency rate available for currency code: " + currencyCode
+                                + " on date " + date)));
+    }
+
+    @Override
+    public Flux<CurrencyRate> findRatesSeries(String currencyCode, LocalDate from, LocalDate to) {
+        return blocking(() -> {
+            currencyRateService.ensureRatesForPeriod(from, to);
+
+            return from;
+        }).flatMapMany(start -> Flux.fromStream(
+                        start.datesUntil(to.plusDays(1), Period.ofDays(pageDays))))
+                .concatMap(pageStart -> blocking(() -> currencyRateService.findRatesSeries(
+                                currencyCode, pageStart, min(pageStart.plusDays(pageDays - 1L), to)))
+                        .flatMapIterable(page -> page), 1);
+    }
+
+    private Mono<RateSnapshot> fetchSnapshot(LocalDate date) {
+        return Mono.fromFuture(() -> fetchRates(date))
+                .defaultIfEmpty(List.of())
+                .flatMap(rates -> blocking(() -> currencyRateService.saveFetchedSnapshot(date, rates)));
+    }
+
+    private CompletableFuture<List<CurrencyRate>> fetchRates(LocalDate date) {
+        return date.isEqual(LocalDate.now(rateClock))
+                ? nbuService.fetchCurrentRatesAsync()
+                : nbuService.fetchRatesForDateAsync(date);
+    }
+
+    private <T> Mono<T> cachedOrBlocking(LocalDate date, Callable<T> lookup) {
+        return Mono.defer(() -> rateSnapshotCache.peek(date).isPresent()
+                ? Mono.fromCallable(lookup)
+                : blocking(lookup));
+    }
+
+    private static LocalDate min(LocalDate first, LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
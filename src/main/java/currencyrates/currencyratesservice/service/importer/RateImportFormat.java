@@ -0,0 +1,19 @@
+package currencyrates.currencyratesservice.service.importer;
+
+import java.util.Locale;
+
+public enum RateImportFormat {
+    JSON,
+    CSV;
+
+    public static RateImportFormat of(String name) {
+        for (RateImportFormat format : values()) {
+            if (format.name().equals(name.toUpperCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported import format: " + name
+                + ", expected json or csv");
+    }
+}
@@ -0,0 +1,197 @@
+package currencyrates.currencyratesservice.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RateImportParser {
+    //region Fields
+    private static final Map<String, String> COLUMN_ALIASES = Map.of(
+            "r030", "r030",
+            "txt", "txt",
+            "currency_name", "txt",
+            "rate", "rate",
+            "cc", "cc",
+            "currency_code", "cc",
+            "exchangedate", "exchangedate",
+            "exchange_date", "exchangedate");
+    private static final List<String> REQUIRED_COLUMNS = List.of("rate", "cc", "exchangedate");
+    private final JsonFactory jsonFactory;
+    //endregion
+
+    public RateImportParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public long parse(InputStream input,
+                      RateImportFormat format,
+                      int chunkSize,
+                      RateImportSink sink) throws IOException {
+        return switch (format) {
+            case JSON -> parseJson(input, chunkSize, sink);
+            case CSV -> parseCsv(input, chunkSize, sink);
+        };
+    }
+
+    private long parseJson(InputStream input, int chunkSize, RateImportSink sink) throws IOException {
+        long rows = 0;
+        List<RawRate> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                rows++;
+
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    sink.reject(rows, "Expected a JSON object but found " + token);
+                } else {
+                    chunk.add(readJsonRate(parser, rows));
+                    if (chunk.size() == chunkSize) {
+                        sink.accept(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonParseException e) {
+            sink.reject(rows, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+        }
+        if (!chunk.isEmpty()) {
+            sink.accept(chunk);
+        }
+
+        return rows;
+    }
+
+    private RawRate readJsonRate(JsonParser parser, long line) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String column = COLUMN_ALIASES.get(parser.currentName().toLowerCase(Locale.ROOT));
+            JsonToken value = parser.nextToken();
+
+            if (value.isStructStart()) {
+                parser.skipChildren();
+            } else if (column != null && value != JsonToken.VALUE_NULL) {
+                fields.put(column, parser.getText());
+            }
+        }
+
+        return toRawRate(line, fields);
+    }
+
+    private long parseCsv(InputStream input, int chunkSize, RateImportSink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+
+        if (header == null) {
+            return 0;
+        }
+        List<String> columns = new ArrayList<>();
+        for (String name : splitCsvLine(stripBom(header))) {
+            columns.add(COLUMN_ALIASES.get(name.trim().toLowerCase(Locale.ROOT)));
+        }
+        if (!columns.containsAll(REQUIRED_COLUMNS)) {
+            sink.reject(1, "CSV header must name the rate, currency code and exchange date columns");
+
+            return 0;
+        }
+
+        long rows = 0;
+        long line = 1;
+        List<RawRate> chunk = new ArrayList<>(chunkSize);
+
+        for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            rows++;
+
+            try {
+                List<String> values = splitCsvLine(text);
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < Math.min(values.size(), columns.size()); i++) {
+                    if (columns.get(i) != null && !values.get(i).isEmpty()) {
+                        fields.put(columns.get(i), values.get(i));
+                    }
+                }
+
+                chunk.add(toRawRate(line, fields));
+                if (chunk.size() == chunkSize) {
+                    sink.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            } catch (IllegalArgumentException e) {
+                sink.reject(line, e.getMessage());
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sink.accept(chunk);
+        }
+
+        return rows;
+    }
+
+    private static RawRate toRawRate(long line, Map<String, String> fields) {
+        return new RawRate(line, fields.get("r030"), fields.get("txt"), fields.get("rate"),
+                fields.get("cc"), fields.get("exchangedate"));
+    }
+
+    private static String stripBom(String header) {
+        return header.startsWith("\uFEFF") ? header.substring(1) : header;
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted CSV field");
+        }
+        values.add(value.toString());
+
+        return values;
+    }
+}
@@ -0,0 +1,9 @@
+package currencyrates.currencyratesservice.service.importer;
+
+import java.util.List;
+
+public interface RateImportSink {
+    void accept(List<RawRate> chunk);
+
+    void reject(long line, String reason);
+}
@@ -0,0 +1,9 @@
+package currencyrates.currencyratesservice.service.importer;
+
+public record RawRate(long line,
+                      String r030,
+                      String txt,
+                      String rate,
+                      String cc,
+                      String exchangeDate) {
+}
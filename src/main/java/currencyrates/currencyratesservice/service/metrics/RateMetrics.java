@@ -0,0 +1,79 @@
+package currencyrates.currencyratesservice.service.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RateMetrics {
+    //region Fields
+    private static final String LOOKUPS = "rates.lookups";
+    private final Map<LookupSource, Counter> snapshotLookups = new EnumMap<>(LookupSource.class);
+    private final Map<LookupSource, Counter> rateLookups = new EnumMap<>(LookupSource.class);
+    private final Timer saveTimer;
+    private final DistributionSummary saveBatchSize;
+    private final Counter saveFailures;
+    //endregion
+
+    public RateMetrics(MeterRegistry meterRegistry) {
+        for (LookupSource source : LookupSource.values()) {
+            String sourceTag = source.name().toLowerCase(Locale.ROOT);
+
+            snapshotLookups.put(source, Counter.builder(LOOKUPS)
+                    .description("Rate lookups by the layer that served them")
+                    .tag("lookup", "by-date")
+                    .tag("source", sourceTag)
+                    .register(meterRegistry));
+            rateLookups.put(source, Counter.builder(LOOKUPS)
+                    .description("Rate lookups by the layer that served them")
+                    .tag("lookup", "by-currency-and-date")
+                    .tag("source", sourceTag)
+                    .register(meterRegistry));
+        }
+        this.saveTimer = Timer.builder("rates.save")
+                .description("Time spent upserting currency rates")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.saveBatchSize = DistributionSummary.builder("rates.save.batch.size")
+                .description("Number of currency rates per upsert")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.saveFailures = Counter.builder("rates.save.failures")
+                .description("Failed currency rate upserts")
+                .register(meterRegistry);
+    }
+
+    public void recordSnapshotLookup(LookupSource source) {
+        snapshotLookups.get(source).increment();
+    }
+
+    public void recordRateLookup(LookupSource source) {
+        rateLookups.get(source).increment();
+    }
+
+    public Timer.Sample startSave() {
+        return Timer.start();
+    }
+
+    public void recordSave(Timer.Sample sample, int batchSize, boolean success) {
+        sample.stop(saveTimer);
+        saveBatchSize.record(batchSize);
+
+        if (!success) {
+            saveFailures.increment();
+        }
+    }
+
+    public enum LookupSource {
+        CACHE,
+        HISTORY,
+        DATABASE,
+        WRITE_BEHIND,
+        NBU
+    }
+}
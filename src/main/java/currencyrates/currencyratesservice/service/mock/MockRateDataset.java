@@ -0,0 +1,117 @@
+package currencyrates.currencyratesservice.service.mock;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+
+public final class MockRateDataset {
+    //region Fields
+    private static final MockRateDataset EMPTY = new MockRateDataset(List.of());
+    private final NavigableMap<LocalDate, DailyRates> ratesByDate;
+    //endregion
+
+    private MockRateDataset(List<CurrencyRate> currencyRates) {
+        Map<LocalDate, List<CurrencyRate>> grouped = new HashMap<>();
+
+        for (CurrencyRate rate : currencyRates) {
+            if (rate.getExchangeDate() == null) {
+                continue;
+            }
+            grouped.computeIfAbsent(rate.getExchangeDate(), date -> new ArrayList<>())
+                    .add(copyOf(rate, rate.getExchangeDate()));
+        }
+
+        TreeMap<LocalDate, DailyRates> index = new TreeMap<>();
+        grouped.forEach((date, rates) -> index.put(date, new DailyRates(rates)));
+        this.ratesByDate = Collections.unmodifiableNavigableMap(index);
+    }
+
+    public static MockRateDataset of(List<CurrencyRate> currencyRates) {
+        return currencyRates.isEmpty() ? EMPTY : new MockRateDataset(currencyRates);
+    }
+
+    public static MockRateDataset empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return ratesByDate.values().stream().mapToInt(daily -> daily.rates().size()).sum();
+    }
+
+    public int dateCount() {
+        return ratesByDate.size();
+    }
+
+    public List<CurrencyRate> ratesOn(LocalDate date) {
+        return dailyRatesFor(date)
+                .map(daily -> daily.rates().stream().map(rate -> copyOf(rate, date)).toList())
+                .orElse(List.of());
+    }
+
+    public Optional<CurrencyRate> rateOn(String currencyCode, LocalDate date) {
+        return dailyRatesFor(date)
+                .map(daily -> daily.byCode().get(currencyCode.toUpperCase(Locale.ROOT)))
+                .map(rate -> copyOf(rate, date));
+    }
+
+    public Optional<CurrencyRate> rateOn(long r030, LocalDate date) {
+        return dailyRatesFor(date)
+                .map(daily -> daily.byR030().get(r030))
+                .map(rate -> copyOf(rate, date));
+    }
+
+    private Optional<DailyRates> dailyRatesFor(LocalDate date) {
+        if (ratesByDate.isEmpty()) {
+            return Optional.empty();
+        }
+        Map.Entry<LocalDate, DailyRates> entry = ratesByDate.floorEntry(date);
+
+        return Optional.of(entry != null ? entry.getValue() : ratesByDate.firstEntry().getValue());
+    }
+
+    private static CurrencyRate copyOf(CurrencyRate source, LocalDate exchangeDate) {
+        CurrencyRate copy = new CurrencyRate();
+        copy.setR030(source.getR030());
+        copy.setTxt(source.getTxt());
+        copy.setRate(source.getRate());
+        copy.setCc(source.getCc());
+        copy.setExchangeDate(exchangeDate);
+
+        return copy;
+    }
+
+    private record DailyRates(List<CurrencyRate> rates,
+                              Map<String, CurrencyRate> byCode,
+                              Map<Long, CurrencyRate> byR030) {
+        DailyRates(List<CurrencyRate> rates) {
+            this(List.copyOf(rates), indexByCode(rates), indexByR030(rates));
+        }
+
+        private static Map<String, CurrencyRate> indexByCode(List<CurrencyRate> rates) {
+            Map<String, CurrencyRate> index = new LinkedHashMap<>();
+            rates.stream()
+                    .filter(rate -> rate.getCc() != null)
+                    .forEach(rate -> index.putIfAbsent(rate.getCc().toUpperCase(Locale.ROOT), rate));
+
+            return Collections.unmodifiableMap(index);
+        }
+
+        private static Map<Long, CurrencyRate> indexByR030(List<CurrencyRate> rates) {
+            Map<Long, CurrencyRate> index = new HashMap<>();
+            rates.stream()
+                    .filter(rate -> rate.getR030() != null)
+                    .forEach(rate -> index.putIfAbsent(rate.getR030(), rate));
+
+            return Collections.unmodifiableMap(index);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package currencyrates.currencyratesservice.service.stream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import currencyrates.currencyratesservice.dto.CurrencyRateResponseDto;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.mapper.DtoMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CurrencyRateStreamWriter {
+    //region Fields
+    private static final String CSV_HEADER =
+            "currency_code,currency_name,rate,exchange_date,receiving_date\n";
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+    private final ObjectMapper objectMapper;
+    private final DtoMapper<CurrencyRate, CurrencyRateResponseDto> dtoMapper;
+    //endregion
+
+    public long writeJsonArray(Stream<CurrencyRate> currencyRates,
+                               OutputStream outputStream) throws IOException {
+        long written = 0;
+
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            generator.writeStartArray();
+
+            Iterator<CurrencyRate> iterator = currencyRates.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(dtoMapper.toDto(iterator.next()));
+                written++;
+            }
+            generator.writeEndArray();
+        }
+
+        return written;
+    }
+
+    public long write(RateExportFormat format,
+                      Stream<CurrencyRate> currencyRates,
+                      OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case CSV -> writeCsv(currencyRates, outputStream);
+            case NDJSON -> writeNdjson(currencyRates, outputStream);
+        };
+    }
+
+    public long writeNdjson(Stream<CurrencyRate> currencyRates,
+                            OutputStream outputStream) throws IOException {
+        long written = 0;
+
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+
+            Iterator<CurrencyRate> iterator = currencyRates.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(dtoMapper.toDto(iterator.next()));
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+
+        return written;
+    }
+
+    public long writeCsv(Stream<CurrencyRate> currencyRates,
+                         OutputStream outputStream) throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+
+        Iterator<CurrencyRate> iterator = currencyRates.iterator();
+        while (iterator.hasNext()) {
+            CurrencyRate rate = iterator.next();
+            writeCsvField(writer, rate.getCc());
+            writer.write(',');
+            writeCsvField(writer, rate.getTxt());
+            writer.write(',');
+            writeCsvField(writer, rate.getRate() == null ? null : rate.getRate().toPlainString());
+            writer.write(',');
+            writeCsvField(writer, Objects.toString(rate.getExchangeDate(), null));
+            writer.write(',');
+            writeCsvField(writer, Objects.toString(rate.getReceivingDate(), null));
+            writer.write('\n');
+            written++;
+        }
+        writer.flush();
+
+        return written;
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        return objectMapper.getFactory()
+                .createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
@@ -0,0 +1,29 @@
+package currencyrates.currencyratesservice.service.stream;
+
+import java.util.Locale;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum RateExportFormat {
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    //region Fields
+    private final MediaType mediaType;
+    private final String extension;
+    //endregion
+
+    public static RateExportFormat of(String name) {
+        for (RateExportFormat format : values()) {
+            if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported export format: " + name
+                + ", expected csv or ndjson");
+    }
+}
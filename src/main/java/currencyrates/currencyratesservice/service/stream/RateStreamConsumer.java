@@ -0,0 +1,10 @@
+package currencyrates.currencyratesservice.service.stream;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+
+@FunctionalInterface
+public interface RateStreamConsumer {
+    void accept(Stream<CurrencyRate> currencyRates) throws IOException;
+}
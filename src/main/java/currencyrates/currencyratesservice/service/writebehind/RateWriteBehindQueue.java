@@ -0,0 +1,327 @@
+package currencyrates.currencyratesservice.service.writebehind;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RateWriteBehindQueue {
+    //region Fields
+    private static final Logger logger = LogManager.getLogger(RateWriteBehindQueue.class);
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+    private final CurrencyRateRepository currencyRateRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<PendingBatch> queue;
+    private final AtomicInteger pendingRows = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock persistLock = new ReentrantLock();
+    private final Map<LocalDate, Long> discardedDates = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDate, Map<String, CurrencyRate>> pendingByDate =
+            new ConcurrentSkipListMap<>();
+    private final Counter persistedRows;
+    private final Counter droppedRows;
+    private final Counter retries;
+    private volatile boolean accepting;
+    private Thread worker;
+    //endregion
+
+    public RateWriteBehindQueue(CurrencyRateRepository currencyRateRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${rates.write-behind.enabled}") boolean enabled,
+                                @Value("${rates.write-behind.capacity}") int capacity,
+                                @Value("${rates.write-behind.batch-size}") int batchSize,
+                                @Value("${rates.write-behind.max-attempts}") int maxAttempts,
+                                @Value("${rates.write-behind.retry-delay}") Duration retryDelay,
+                                @Value("${rates.write-behind.shutdown-timeout}")
+                                Duration shutdownTimeout) {
+        if (capacity <= 0 || batchSize <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException(
+                    "Write-behind capacity, batch size and attempts must be positive");
+        }
+        this.currencyRateRepository = currencyRateRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.persistedRows = Counter.builder("rates.write_behind.rows")
+                .tag("result", "persisted")
+                .register(meterRegistry);
+        this.droppedRows = Counter.builder("rates.write_behind.rows")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        this.retries = Counter.builder("rates.write_behind.retries")
+                .register(meterRegistry);
+        Gauge.builder("rates.write_behind.queue.depth", pendingRows, AtomicInteger::get)
+                .description("Currency rates waiting to be persisted")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        accepting = true;
+        worker = new Thread(this::run, "rates-write-behind");
+        worker.setDaemon(true);
+        worker.start();
+
+        logger.info("Started write-behind persistence of currency rates");
+    }
+
+    public boolean offer(List<CurrencyRate> currencyRates) {
+        if (!accepting || currencyRates.isEmpty()) {
+            return false;
+        }
+
+        pendingRows.addAndGet(currencyRates.size());
+        index(currencyRates);
+
+        boolean queued;
+        synchronized (queue) {
+            queued = accepting
+                    && queue.offer(new PendingBatch(sequence.incrementAndGet(), currencyRates));
+        }
+
+        if (!queued) {
+            pendingRows.addAndGet(-currencyRates.size());
+            unindex(currencyRates);
+            logger.debug("Write-behind queue is full or stopping, persisting {} rates synchronously",
+                    currencyRates.size());
+
+            return false;
+        }
+
+        return true;
+    }
+
+    public int discard(LocalDate date) {
+        persistLock.lock();
+        try {
+            synchronized (queue) {
+                discardedDates.put(date, sequence.get());
+                queue.removeIf(batch -> {
+                    boolean matches = !batch.rates().isEmpty()
+                            && date.equals(batch.rates().get(0).getExchangeDate());
+
+                    if (matches) {
+                        pendingRows.addAndGet(-batch.rates().size());
+                    }
+
+                    return matches;
+                });
+            }
+            Map<String, CurrencyRate> discardedRates = pendingByDate.remove(date);
+
+            return discardedRates == null ? 0 : discardedRates.size();
+        } finally {
+            persistLock.unlock();
+        }
+    }
+
+    public List<CurrencyRate> pendingRates(LocalDate date) {
+        Map<String, CurrencyRate> pendingRates = pendingByDate.get(date);
+
+        return pendingRates == null ? List.of() : List.copyOf(pendingRates.values());
+    }
+
+    public Optional<CurrencyRate> pendingRate(String currencyCode, LocalDate date) {
+        Map<String, CurrencyRate> pendingRates = pendingByDate.get(date);
+
+        return pendingRates == null
+                ? Optional.empty()
+                : Optional.ofNullable(pendingRates.get(currencyCode.toUpperCase(Locale.ROOT)));
+    }
+
+    public Set<LocalDate> pendingDatesBetween(LocalDate from, LocalDate to) {
+        return pendingByDate.subMap(from, true, to, true).entrySet().stream()
+                .filter(entry -> !entry.getValue().isEmpty())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    public int getPendingRows() {
+        return pendingRows.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        synchronized (queue) {
+            accepting = false;
+        }
+        worker.join(shutdownTimeout.toMillis());
+
+        if (worker.isAlive()) {
+            logger.error("Write-behind queue did not drain within {}, {} currency rates were not persisted",
+                    shutdownTimeout, pendingRows.get());
+            worker.interrupt();
+        } else {
+            List<PendingBatch> remaining = new ArrayList<>();
+            synchronized (queue) {
+                PendingBatch next;
+                while ((next = queue.poll()) != null) {
+                    take(next, remaining);
+                }
+            }
+            if (!remaining.isEmpty()) {
+                persist(remaining);
+            }
+
+            logger.info("Write-behind queue drained");
+        }
+    }
+
+    private void run() {
+        List<PendingBatch> batches = new ArrayList<>();
+
+        try {
+            while (accepting || !queue.isEmpty()) {
+                PendingBatch first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+                int rows = take(first, batches);
+
+                PendingBatch next;
+                while (rows < batchSize && (next = queue.poll()) != null) {
+                    rows += take(next, batches);
+                }
+                persist(batches);
+                batches.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int take(PendingBatch pendingBatch, List<PendingBatch> batches) {
+        pendingRows.addAndGet(-pendingBatch.rates().size());
+        batches.add(pendingBatch);
+
+        return pendingBatch.rates().size();
+    }
+
+    private void persist(List<PendingBatch> batches) throws InterruptedException {
+        long lastSequence = batches.get(batches.size() - 1).sequence();
+
+        try {
+            for (int attempt = 1; ; attempt++) {
+                RuntimeException failure;
+
+                persistLock.lock();
+                try {
+                    List<CurrencyRate> liveRates = liveRates(batches);
+
+                    if (!liveRates.isEmpty()) {
+                        currencyRateRepository.upsertAll(liveRates);
+                        persistedRows.increment(liveRates.size());
+                    }
+
+                    return;
+                } catch (RuntimeException e) {
+                    failure = e;
+                } finally {
+                    persistLock.unlock();
+                }
+                int rows = liveRates(batches).size();
+
+                if (attempt >= maxAttempts) {
+                    droppedRows.increment(rows);
+                    logger.error("Giving up persisting {} currency rates after {} attempts",
+                            rows, attempt, failure);
+
+                    return;
+                }
+                long delayMillis = Math.min(MAX_RETRY_DELAY_MILLIS,
+                        retryDelay.toMillis() << Math.min(attempt - 1, 16));
+                retries.increment();
+                logger.warn("Failed to persist {} currency rates (attempt {}), retrying in {} ms: {}",
+                        rows, attempt, delayMillis, failure.getMessage());
+
+                Thread.sleep(delayMillis);
+            }
+        } finally {
+            batches.forEach(batch -> unindex(batch.rates()));
+            discardedDates.values().removeIf(discardedAt -> discardedAt <= lastSequence);
+        }
+    }
+
+    private List<CurrencyRate> liveRates(List<PendingBatch> batches) {
+        List<CurrencyRate> liveRates = new ArrayList<>();
+
+        for (PendingBatch batch : batches) {
+            for (CurrencyRate rate : batch.rates()) {
+                Long discardedAt = discardedDates.get(rate.getExchangeDate());
+
+                if (discardedAt == null || batch.sequence() > discardedAt) {
+                    liveRates.add(rate);
+                }
+            }
+        }
+
+        return liveRates;
+    }
+
+    private void index(List<CurrencyRate> currencyRates) {
+        for (CurrencyRate rate : currencyRates) {
+            if (rate.getExchangeDate() != null && rate.getCc() != null) {
+                pendingByDate.computeIfAbsent(rate.getExchangeDate(), date -> new ConcurrentHashMap<>())
+                        .put(rate.getCc().toUpperCase(Locale.ROOT), rate);
+            }
+        }
+    }
+
+    private void unindex(List<CurrencyRate> currencyRates) {
+        for (CurrencyRate rate : currencyRates) {
+            if (rate.getExchangeDate() == null || rate.getCc() == null) {
+                continue;
+            }
+            pendingByDate.computeIfPresent(rate.getExchangeDate(), (date, pendingRates) -> {
+                pendingRates.computeIfPresent(rate.getCc().toUpperCase(Locale.ROOT),
+                        (code, pendingRate) -> pendingRate == rate ? null : pendingRate);
+
+                return pendingRates.isEmpty() ? null : pendingRates;
+            });
+        }
+    }
+
+    private record PendingBatch(long sequence, List<CurrencyRate> rates) {
+    }
+}
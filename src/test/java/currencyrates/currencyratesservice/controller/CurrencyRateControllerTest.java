@@ -1,49 +1,83 @@
 package currencyrates.currencyratesservice.controller;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import currencyrates.currencyratesservice.config.ClockConfig;
 import currencyrates.currencyratesservice.dto.CurrencyRateResponseDto;
+import currencyrates.currencyratesservice.dto.RateLookupRequestDto;
+import currencyrates.currencyratesservice.dto.RateStatsDto;
 import currencyrates.currencyratesservice.exception.CurrencyRateFetchException;
 import currencyrates.currencyratesservice.exception.CurrencyRateNotFoundException;
 import currencyrates.currencyratesservice.model.CurrencyRate;
 import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import currencyrates.currencyratesservice.service.cache.SerializedRatesCache;
 import currencyrates.currencyratesservice.service.mapper.DtoMapper;
+import currencyrates.currencyratesservice.service.stream.CurrencyRateStreamWriter;
+import currencyrates.currencyratesservice.service.stream.RateStreamConsumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(CurrencyRateController.class)
+@Import({CurrencyRateStreamWriter.class, SerializedRatesCache.class, ClockConfig.class})
 class CurrencyRateControllerTest {
     //region Fields
     private static final String DATE_PATTERN = "yyyyMMdd";
     private static final String CURRENT_CURRENCY_RATES_URL = "/currency-rates/current";
     private static final String CURRENCY_RATES_BY_DATE_URL = "/currency-rates/by-date";
     private static final String CURRENCY_RATES_BY_VALCODE_AND_DATE_URL = "/currency-rates/by-currency-and-date";
+    private static final String CURRENCY_RATES_SERIES_URL = "/currency-rates/series";
+    private static final String CURRENCY_RATES_EXPORT_URL = "/currency-rates/export";
+    private static final String CURRENCY_RATES_STATS_URL = "/currency-rates/stats";
+    private static final String CURRENCY_RATES_BY_VALCODES_AND_DATES_URL =
+            "/currency-rates/by-currencies-and-dates";
     private static final String VALCODE = "valcode";
     private static final String DATE = "date";
+    private static final String FROM = "from";
+    private static final String TO = "to";
     private static final String CC = "USD";
     private static final String INVALID_CURRENCY = "SSS";
     private static final String INVALID_DATE = "20201301";
@@ -68,14 +102,17 @@ class CurrencyRateControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private Clock rateClock;
+
     @BeforeEach
     void init() {
         dtoTest = new CurrencyRateResponseDto();
-        dtoTest.setExchangeDate(LocalDate.now());
+        dtoTest.setExchangeDate(LocalDate.now(rateClock));
         dtoTest.setCurrencyName(CC);
         dtoTest.setRate(RATE);
         dtoTest.setCurrencyCode(CC);
-        dtoTest.setReceivingDate(LocalDateTime.now());
+        dtoTest.setReceivingDate(LocalDateTime.now(rateClock));
 
         dtosTest = Collections.singletonList(dtoTest);
 
@@ -84,15 +121,16 @@ class CurrencyRateControllerTest {
         rateTest.setCc(CC);
         rateTest.setTxt(CC);
         rateTest.setRate(RATE);
-        rateTest.setExchangeDate(LocalDate.now());
-        rateTest.setReceivingDate(LocalDateTime.now());
+        rateTest.setExchangeDate(LocalDate.now(rateClock));
+        rateTest.setReceivingDate(LocalDateTime.now(rateClock));
 
         ratesTest = Collections.singletonList(rateTest);
     }
 
     @Test
     void getCurrentRates_success() throws Exception {
-        when(currencyRateService.findCurrencyByCurrentDate()).thenReturn(ratesTest);
+        when(currencyRateService.findSnapshotByDate(LocalDate.now(rateClock)))
+                .thenReturn(new RateSnapshot(LocalDate.now(rateClock), ratesTest));
         when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(dtoTest);
 
         mockMvc.perform(get(CURRENT_CURRENCY_RATES_URL))
@@ -102,7 +140,8 @@ class CurrencyRateControllerTest {
 
     @Test
     void getCurrentRates_emptyList() throws Exception {
-        when(currencyRateService.findCurrencyByCurrentDate()).thenReturn(Collections.emptyList());
+        when(currencyRateService.findSnapshotByDate(LocalDate.now(rateClock)))
+                .thenReturn(new RateSnapshot(LocalDate.now(rateClock), Collections.emptyList()));
         when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(null);
 
         mockMvc.perform(get(CURRENT_CURRENCY_RATES_URL))
@@ -110,11 +149,28 @@ class CurrencyRateControllerTest {
                 .andExpect(content().json("[]"));
     }
 
+    @Test
+    void getCurrentRates_fallbackIsNotCached() throws Exception {
+        rateTest.setFallback(true);
+        RateSnapshot snapshot = new RateSnapshot(LocalDate.now(rateClock), ratesTest);
+
+        when(currencyRateService.findSnapshotByDate(LocalDate.now(rateClock))).thenReturn(snapshot);
+        when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(dtoTest);
+
+        mockMvc.perform(get(CURRENT_CURRENCY_RATES_URL)
+                        .header(HttpHeaders.IF_NONE_MATCH, snapshot.getEtag()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(content().json(objectMapper.writeValueAsString(dtosTest)));
+    }
+
     @Test
     void getRatesByDate_success() throws Exception {
-        LocalDate date = LocalDate.now();
+        LocalDate date = LocalDate.now(rateClock);
 
-        when(currencyRateService.findAllRatesByDate(date)).thenReturn(ratesTest);
+        when(currencyRateService.findSnapshotByDate(date))
+                .thenReturn(new RateSnapshot(date, ratesTest));
         when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(dtoTest);
 
         mockMvc.perform(get(CURRENCY_RATES_BY_DATE_URL)
@@ -123,11 +179,66 @@ class CurrencyRateControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(dtosTest)));
     }
 
+    @Test
+    void getRatesByDate_notModified() throws Exception {
+        LocalDate date = LocalDate.now(rateClock).minusDays(ONE_COUNT);
+        RateSnapshot snapshot = new RateSnapshot(date, ratesTest);
+
+        when(currencyRateService.findSnapshotByDate(date)).thenReturn(snapshot);
+
+        mockMvc.perform(get(CURRENCY_RATES_BY_DATE_URL)
+                        .param(DATE, date.format(DateTimeFormatter.ofPattern(DATE_PATTERN)))
+                        .header(HttpHeaders.IF_NONE_MATCH, snapshot.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.getEtag()))
+                .andExpect(content().string(""));
+
+        verify(dtoMapper, never()).toDto(any(CurrencyRate.class));
+    }
+
+    @Test
+    void getRatesByDate_gzipWithPositiveQuality() throws Exception {
+        LocalDate date = LocalDate.now(rateClock).minusDays(ONE_COUNT);
+
+        when(currencyRateService.findSnapshotByDate(date))
+                .thenReturn(new RateSnapshot(date, ratesTest));
+        when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(dtoTest);
+
+        byte[] body = mockMvc.perform(get(CURRENCY_RATES_BY_DATE_URL)
+                        .param(DATE, date.format(DateTimeFormatter.ofPattern(DATE_PATTERN)))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, GZIP;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertTrue(gunzip(body).contains(CC));
+    }
+
+    @Test
+    void getRatesByDate_gzipWithZeroQualityIsNotUsed() throws Exception {
+        LocalDate date = LocalDate.now(rateClock).minusDays(ONE_COUNT);
+
+        when(currencyRateService.findSnapshotByDate(date))
+                .thenReturn(new RateSnapshot(date, ratesTest));
+        when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(dtoTest);
+
+        for (String acceptEncoding : List.of("gzip;q=0", "gzip; q=0.000, *", "identity")) {
+            mockMvc.perform(get(CURRENCY_RATES_BY_DATE_URL)
+                            .param(DATE, date.format(DateTimeFormatter.ofPattern(DATE_PATTERN)))
+                            .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(content().json(objectMapper.writeValueAsString(dtosTest)));
+        }
+    }
+
     @Test
     void getRatesByDate_futureDate() throws Exception {
-        LocalDate futureDate = LocalDate.now().plusDays(ONE_COUNT);
+        LocalDate futureDate = LocalDate.now(rateClock).plusDays(ONE_COUNT);
 
-        when(currencyRateService.findAllRatesByDate(futureDate))
+        when(currencyRateService.findSnapshotByDate(futureDate))
                 .thenThrow(new CurrencyRateFetchException(
                         "The date cannot be specified later than the current one"));
 
@@ -149,7 +260,7 @@ class CurrencyRateControllerTest {
 
     @Test
     void getRatesByCurrencyAndDate_success() throws Exception {
-        LocalDate date = LocalDate.now();
+        LocalDate date = LocalDate.now(rateClock);
         String currencyCode = CC;
 
         when(currencyRateService.findRateByDateAndCurrency(currencyCode, date))
@@ -166,7 +277,7 @@ class CurrencyRateControllerTest {
 
     @Test
     void getRatesByCurrencyAndDate_invalidCurrency() throws Exception {
-        LocalDate date = LocalDate.now();
+        LocalDate date = LocalDate.now(rateClock);
         String invalidCurrencyCode = INVALID_CURRENCY;
 
         when(currencyRateService.findRateByDateAndCurrency(invalidCurrencyCode, date))
@@ -182,9 +293,165 @@ class CurrencyRateControllerTest {
                         "Currency code not found", result.getResolvedException().getMessage()));
     }
 
+    @Test
+    void getRatesByCurrenciesAndDates_success() throws Exception {
+        RateLookupRequestDto lookup = new RateLookupRequestDto();
+        lookup.setValcode(CC);
+        lookup.setDate(LocalDate.now(rateClock));
+
+        when(currencyRateService.findRatesByCurrenciesAndDates(anyList())).thenReturn(ratesTest);
+        when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(dtoTest);
+
+        mockMvc.perform(post(CURRENCY_RATES_BY_VALCODES_AND_DATES_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(lookup))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(dtosTest)));
+    }
+
+    @Test
+    void getRatesSeries_success() throws Exception {
+        LocalDate date = LocalDate.now(rateClock);
+        String formattedDate = date.format(DateTimeFormatter.ofPattern(DATE_PATTERN));
+
+        when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(dtoTest);
+        doAnswer(invocation -> {
+            RateStreamConsumer consumer = invocation.getArgument(3);
+            consumer.accept(Stream.of(rateTest));
+            return null;
+        }).when(currencyRateService).streamRatesSeries(eq(CC), eq(date), eq(date), any());
+
+        MvcResult result = mockMvc.perform(get(CURRENCY_RATES_SERIES_URL)
+                        .param(VALCODE, CC)
+                        .param(FROM, formattedDate)
+                        .param(TO, formattedDate))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(dtosTest)));
+
+        verify(currencyRateService, times(ONE_COUNT)).ensureRatesForPeriod(date, date);
+    }
+
+    @Test
+    void getRateStats_success() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 3, 22);
+        RateStatsDto stats = new RateStatsDto();
+        stats.setCurrencyCode(CC);
+        stats.setFrom(from);
+        stats.setTo(to);
+        stats.setDays(82);
+        stats.setFirstRate(new BigDecimal("37.9824"));
+        stats.setLastRate(new BigDecimal("39.4402"));
+        stats.setChangePercent(new BigDecimal("3.8381"));
+
+        when(currencyRateService.findRateStats(CC, from, to)).thenReturn(stats);
+
+        mockMvc.perform(get(CURRENCY_RATES_STATS_URL)
+                        .param(VALCODE, CC)
+                        .param(FROM, from.format(DateTimeFormatter.ofPattern(DATE_PATTERN)))
+                        .param(TO, to.format(DateTimeFormatter.ofPattern(DATE_PATTERN))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(stats)))
+                .andExpect(jsonPath("$.change_percent").value(3.8381));
+    }
+
+    @Test
+    void getRateStats_noRates() throws Exception {
+        String formattedDate = LocalDate.now(rateClock).format(DateTimeFormatter.ofPattern(DATE_PATTERN));
+
+        when(currencyRateService.findRateStats(eq(INVALID_CURRENCY), any(), any()))
+                .thenThrow(new CurrencyRateNotFoundException("No currency rates found"));
+
+        mockMvc.perform(get(CURRENCY_RATES_STATS_URL)
+                        .param(VALCODE, INVALID_CURRENCY)
+                        .param(FROM, formattedDate)
+                        .param(TO, formattedDate))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportRates_csv() throws Exception {
+        LocalDate date = LocalDate.of(2024, 3, 22);
+        String formattedDate = date.format(DateTimeFormatter.ofPattern(DATE_PATTERN));
+        rateTest.setTxt("Dollar, US");
+        rateTest.setExchangeDate(date);
+        rateTest.setReceivingDate(LocalDateTime.of(2024, 3, 22, 10, 15, 30));
+
+        doAnswer(invocation -> {
+            RateStreamConsumer consumer = invocation.getArgument(3);
+            consumer.accept(Stream.of(rateTest));
+            return null;
+        }).when(currencyRateService).streamRatesForExport(eq(date), eq(date), eq(List.of(CC)), any());
+
+        MvcResult result = mockMvc.perform(get(CURRENCY_RATES_EXPORT_URL)
+                        .param(VALCODE, CC)
+                        .param(FROM, formattedDate)
+                        .param(TO, formattedDate))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"currency-rates-20240322-20240322.csv\""))
+                .andExpect(content().string("currency_code,currency_name,rate,exchange_date,receiving_date\n"
+                        + "USD,\"Dollar, US\",27.5,2024-03-22,2024-03-22T10:15:30\n"));
+
+        verify(currencyRateService, times(ONE_COUNT)).validateExportPeriod(date, date);
+    }
+
+    @Test
+    void exportRates_gzipNdjson() throws Exception {
+        LocalDate date = LocalDate.now(rateClock);
+        String formattedDate = date.format(DateTimeFormatter.ofPattern(DATE_PATTERN));
+
+        when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(dtoTest);
+        doAnswer(invocation -> {
+            RateStreamConsumer consumer = invocation.getArgument(3);
+            consumer.accept(Stream.of(rateTest, rateTest));
+            return null;
+        }).when(currencyRateService).streamRatesForExport(eq(date), eq(date), any(), any());
+
+        MvcResult result = mockMvc.perform(get(CURRENCY_RATES_EXPORT_URL)
+                        .param(FROM, formattedDate)
+                        .param(TO, formattedDate)
+                        .param("format", "ndjson")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        String line = objectMapper.writeValueAsString(dtoTest);
+        assertEquals(line + "\n" + line + "\n", gunzip(body));
+    }
+
+    @Test
+    void exportRates_unsupportedFormat() throws Exception {
+        String formattedDate = LocalDate.now(rateClock).format(DateTimeFormatter.ofPattern(DATE_PATTERN));
+
+        mockMvc.perform(get(CURRENCY_RATES_EXPORT_URL)
+                        .param(FROM, formattedDate)
+                        .param(TO, formattedDate)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(currencyRateService, never()).streamRatesForExport(any(), any(), any(), any());
+    }
+
     @Test
     void deleteRatesByDate_success() throws Exception {
-        LocalDate date = LocalDate.now();
+        LocalDate date = LocalDate.now(rateClock);
         doNothing().when(currencyRateService).deleteByDate(date);
 
         mockMvc.perform(delete(CURRENCY_RATES_BY_DATE_URL)
@@ -193,4 +460,10 @@ class CurrencyRateControllerTest {
 
         verify(currencyRateService, times(ONE_COUNT)).deleteByDate(date);
     }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -0,0 +1,136 @@
+package currencyrates.currencyratesservice.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import currencyrates.currencyratesservice.config.ClockConfig;
+import currencyrates.currencyratesservice.dto.CurrencyRateResponseDto;
+import currencyrates.currencyratesservice.exception.CurrencyRateNotFoundException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.ReactiveCurrencyRateService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import currencyrates.currencyratesservice.service.mapper.DtoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ReactiveCurrencyRateController.class,
+        properties = "rates.reactive.enabled=true")
+@Import(ClockConfig.class)
+class ReactiveCurrencyRateControllerTest {
+    //region Fields
+    private static final String DATE_PATTERN = "yyyyMMdd";
+    private static final String BY_DATE_URL = "/reactive/currency-rates/by-date";
+    private static final String BY_VALCODE_AND_DATE_URL =
+            "/reactive/currency-rates/by-currency-and-date";
+    private static final String SERIES_URL = "/reactive/currency-rates/series";
+    private static final String CC = "USD";
+    private static final BigDecimal RATE = BigDecimal.valueOf(27.5);
+    private final LocalDate date = LocalDate.of(2024, 3, 22);
+    private CurrencyRate rateTest;
+    private CurrencyRateResponseDto dtoTest;
+    //endregion
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveCurrencyRateService reactiveCurrencyRateService;
+
+    @MockBean
+    private DtoMapper<CurrencyRate, CurrencyRateResponseDto> dtoMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void init() {
+        rateTest = new CurrencyRate();
+        rateTest.setR030(840L);
+        rateTest.setCc(CC);
+        rateTest.setTxt(CC);
+        rateTest.setRate(RATE);
+        rateTest.setExchangeDate(date);
+
+        dtoTest = new CurrencyRateResponseDto();
+        dtoTest.setCurrencyCode(CC);
+        dtoTest.setCurrencyName(CC);
+        dtoTest.setRate(RATE);
+        dtoTest.setExchangeDate(date);
+
+        when(dtoMapper.toDto(any(CurrencyRate.class))).thenReturn(dtoTest);
+    }
+
+    @Test
+    void getRatesByDate_success() throws Exception {
+        when(reactiveCurrencyRateService.findSnapshotByDate(date))
+                .thenReturn(Mono.just(new RateSnapshot(date, List.of(rateTest))));
+
+        MvcResult result = mockMvc.perform(get(BY_DATE_URL).param("date", formatted(date)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(
+                        Collections.singletonList(dtoTest))));
+    }
+
+    @Test
+    void getRatesByCurrencyAndDate_notFoundUsesApiError() throws Exception {
+        when(reactiveCurrencyRateService.findRateByDateAndCurrency("SSS", date))
+                .thenReturn(Mono.error(new CurrencyRateNotFoundException("Currency code not found")));
+
+        MvcResult result = mockMvc.perform(get(BY_VALCODE_AND_DATE_URL)
+                        .param("valcode", "SSS")
+                        .param("date", formatted(date)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Currency code not found"));
+    }
+
+    @Test
+    void getRatesSeries_streamsNdjson() throws Exception {
+        when(reactiveCurrencyRateService.findRatesSeries(CC, date, date.plusDays(1)))
+                .thenReturn(Flux.just(rateTest, rateTest));
+
+        MvcResult result = mockMvc.perform(get(SERIES_URL)
+                        .param("valcode", CC)
+                        .param("from", formatted(date))
+                        .param("to", formatted(date.plusDays(1))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String line = objectMapper.writeValueAsString(dtoTest);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(line + "\n" + line + "\n"));
+    }
+
+    private static String formatted(LocalDate date) {
+        return date.format(DateTimeFormatter.ofPattern(DATE_PATTERN));
+    }
+}
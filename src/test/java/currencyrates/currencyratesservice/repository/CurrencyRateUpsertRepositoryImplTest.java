@@ -0,0 +1,139 @@
+package currencyrates.currencyratesservice.repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CurrencyRateUpsertRepositoryImplTest {
+    //region Fields
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 22);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CurrencyRateUpsertRepositoryImpl repository =
+            new CurrencyRateUpsertRepositoryImpl(jdbcTemplate);
+    private ParameterizedPreparedStatementSetter<Object> setter;
+    //endregion
+
+    @Test
+    void deduplicate_keepsLastRateForEachCurrencyAndDate() {
+        CurrencyRate firstUsd = rate("USD", DATE, "39.1");
+        CurrencyRate eur = rate("EUR", DATE, "42.5");
+        CurrencyRate lastUsd = rate("USD", DATE, "39.3");
+        CurrencyRate nextDayUsd = rate("USD", DATE.plusDays(1), "39.4");
+
+        List<CurrencyRate> uniqueRates = CurrencyRateUpsertRepositoryImpl.deduplicate(
+                List.of(firstUsd, eur, lastUsd, nextDayUsd));
+
+        assertEquals(3, uniqueRates.size());
+        assertSame(lastUsd, uniqueRates.get(0));
+        assertSame(eur, uniqueRates.get(1));
+        assertSame(nextDayUsd, uniqueRates.get(2));
+    }
+
+    @Test
+    void upsertAll_bindsBlockAllocatedIdsToOnConflictUpdate() throws SQLException {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1)))
+                .thenReturn(List.of(100L));
+        CurrencyRate usd = rate("USD", DATE, "39.1");
+        CurrencyRate eur = rate("EUR", DATE, "42.5");
+
+        int upserted = repository.upsertAll(List.of(usd, eur, rate("USD", DATE, "39.2")));
+
+        List<Object> rows = captureRows();
+        PreparedStatement ps = mock(PreparedStatement.class);
+        bind(rows.get(0), ps);
+
+        assertEquals(2, upserted);
+        assertEquals(2, rows.size());
+        verify(ps).setLong(1, 51L);
+        verify(ps).setBigDecimal(4, new BigDecimal("39.2"));
+        verify(ps).setString(5, "USD");
+        bind(rows.get(1), ps);
+        verify(ps).setLong(1, 52L);
+        verify(ps).setString(5, "EUR");
+        assertNull(usd.getId());
+    }
+
+    @Test
+    void upsertAll_drawsOneSequenceValuePerIdBlock() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(3)))
+                .thenReturn(List.of(50L, 100L, 150L));
+        List<CurrencyRate> currencyRates = IntStream.range(0, 120)
+                .mapToObj(day -> rate("USD", DATE.plusDays(day), "39.1"))
+                .toList();
+
+        repository.upsertAll(currencyRates);
+
+        assertEquals(120, captureRows().size());
+    }
+
+    @Test
+    void upsertAll_topsUpIdsWhenFirstBlockStartsTheSequence() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1)))
+                .thenReturn(List.of(1L), List.of(51L));
+        List<CurrencyRate> currencyRates = List.of(
+                rate("USD", DATE, "39.1"),
+                rate("EUR", DATE, "42.5"));
+
+        repository.upsertAll(currencyRates);
+
+        assertEquals(2, captureRows().size());
+    }
+
+    @Test
+    void upsertAll_skipsEmptyInput() {
+        assertEquals(0, repository.upsertAll(List.of()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> captureRows() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Collection<Object>> batch = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setterCaptor =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+
+        verify(jdbcTemplate).batchUpdate(
+                sql.capture(), batch.capture(), anyInt(), setterCaptor.capture());
+        assertTrue(sql.getValue().contains("ON CONFLICT (cc, exchange_date) DO UPDATE"));
+        assertTrue(sql.getValue().contains("VALUES (?, ?, ?, ?, ?, ?, ?)"));
+        setter = setterCaptor.getValue();
+
+        return List.copyOf(batch.getValue());
+    }
+
+    private void bind(Object row, PreparedStatement ps) throws SQLException {
+        setter.setValues(ps, row);
+    }
+
+    private static CurrencyRate rate(String currencyCode, LocalDate date, String value) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setR030(840L);
+        rate.setCc(currencyCode);
+        rate.setTxt(currencyCode);
+        rate.setRate(new BigDecimal(value));
+        rate.setExchangeDate(date);
+
+        return rate;
+    }
+}
@@ -0,0 +1,63 @@
+package currencyrates.currencyratesservice.service.backfill;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestRateLimiterTest {
+    //region Fields
+    private static final double PERMITS_PER_SECOND = 50;
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    //endregion
+
+    @Test
+    void constructor_rejectsNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestRateLimiter(0));
+        assertThrows(IllegalArgumentException.class, () -> new RequestRateLimiter(-1));
+    }
+
+    @Test
+    void acquire_spacesPermitsByInterval() throws InterruptedException {
+        RequestRateLimiter limiter = new RequestRateLimiter(PERMITS_PER_SECOND);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < 6; i++) {
+            limiter.acquire();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        assertTrue(elapsed >= 5 * INTERVAL_NANOS,
+                "Six permits were granted in " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+    }
+
+    @Test
+    void acquire_sharesRateAcrossThreads() throws InterruptedException {
+        RequestRateLimiter limiter = new RequestRateLimiter(PERMITS_PER_SECOND);
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    limiter.acquire();
+                    limiter.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        long elapsed = System.nanoTime() - start;
+        assertTrue(elapsed >= 7 * INTERVAL_NANOS,
+                "Eight permits were granted in " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+    }
+}
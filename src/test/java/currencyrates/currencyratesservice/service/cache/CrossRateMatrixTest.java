@@ -0,0 +1,50 @@
+package currencyrates.currencyratesservice.service.cache;
+
+import java.math.BigDecimal;
+import java.util.List;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CrossRateMatrixTest {
+    //region Fields
+    private CrossRateMatrix matrix;
+    //endregion
+
+    @BeforeEach
+    void init() {
+        matrix = CrossRateMatrix.of(List.of(
+                rate("USD", 840L, "40"),
+                rate("EUR", 978L, "44")));
+    }
+
+    @Test
+    void crossRate_dividesUahRates() {
+        int eur = matrix.indexOf("eur");
+        int usd = matrix.indexOf("usd");
+
+        assertEquals(new BigDecimal("1.1000000000"), matrix.crossRate(eur, usd));
+        assertEquals(new BigDecimal("0.9090909091"), matrix.crossRate(usd, eur));
+    }
+
+    @Test
+    void convert_roundsHalfEvenToAmountScale() {
+        int usd = matrix.indexOf("USD");
+        int uah = matrix.indexOf("UAH");
+
+        assertEquals(new BigDecimal("4000.0000"), matrix.convert(new BigDecimal("100"), usd, uah));
+        assertEquals(new BigDecimal("0.0000"), matrix.convert(new BigDecimal("0.00001"), uah, usd));
+        assertEquals(CrossRateMatrix.NOT_FOUND, matrix.indexOf("XXX"));
+    }
+
+    private static CurrencyRate rate(String cc, long r030, String value) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setCc(cc);
+        rate.setR030(r030);
+        rate.setRate(new BigDecimal(value));
+
+        return rate;
+    }
+}
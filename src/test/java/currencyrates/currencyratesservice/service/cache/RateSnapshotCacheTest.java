@@ -0,0 +1,105 @@
+package currencyrates.currencyratesservice.service.cache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import currencyrates.currencyratesservice.dto.RateCacheStatsDto;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateSnapshotCacheTest {
+    //region Fields
+    private static final String CC = "USD";
+    private static final int MAX_SIZE = 2;
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 22);
+    private RateSnapshotCache cache;
+    //endregion
+
+    @BeforeEach
+    void init() {
+        cache = new RateSnapshotCache(MAX_SIZE, Duration.ofHours(1));
+    }
+
+    @Test
+    void get_hitAfterPut() {
+        RateSnapshot snapshot = cache.put(snapshotOf(DATE));
+
+        assertSame(snapshot, cache.get(DATE).orElseThrow());
+        assertTrue(cache.get(DATE).orElseThrow().findByCode("usd").isPresent());
+        assertEquals(2, cache.getStats().getHits());
+    }
+
+    @Test
+    void get_missAfterInvalidate() {
+        cache.put(snapshotOf(DATE));
+        cache.invalidate(DATE);
+
+        assertFalse(cache.get(DATE).isPresent());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    void peek_doesNotCountHitsOrMisses() {
+        assertFalse(cache.peek(DATE).isPresent());
+        RateSnapshot snapshot = cache.put(snapshotOf(DATE));
+
+        assertSame(snapshot, cache.peek(DATE).orElseThrow());
+        assertEquals(0, cache.getStats().getHits());
+        assertEquals(0, cache.getStats().getMisses());
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsed() {
+        cache.put(snapshotOf(DATE));
+        cache.put(snapshotOf(DATE.plusDays(1)));
+        cache.get(DATE);
+        cache.put(snapshotOf(DATE.plusDays(2)));
+
+        RateCacheStatsDto stats = cache.getStats();
+
+        assertTrue(cache.get(DATE).isPresent());
+        assertFalse(cache.get(DATE.plusDays(1)).isPresent());
+        assertEquals(MAX_SIZE, stats.getSize());
+        assertEquals(1, stats.getEvictions());
+    }
+
+    @Test
+    void get_expiredSnapshotIsEvicted() {
+        cache = new RateSnapshotCache(MAX_SIZE, Duration.ZERO);
+        cache.put(snapshotOf(DATE));
+
+        assertFalse(cache.get(DATE).isPresent());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void put_cachedRatesAreIsolatedFromSourceEntities() {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setCc(CC);
+        rate.setRate(BigDecimal.valueOf(27.5));
+        rate.setExchangeDate(DATE);
+        cache.put(new RateSnapshot(DATE, List.of(rate)));
+
+        rate.setRate(BigDecimal.ONE);
+
+        assertEquals(BigDecimal.valueOf(27.5),
+                cache.get(DATE).orElseThrow().findByCode(CC).orElseThrow().getRate());
+    }
+
+    private static RateSnapshot snapshotOf(LocalDate date) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setR030(840L);
+        rate.setCc(CC);
+        rate.setRate(BigDecimal.valueOf(27.5));
+        rate.setExchangeDate(date);
+
+        return new RateSnapshot(date, List.of(rate));
+    }
+}
@@ -0,0 +1,129 @@
+package currencyrates.currencyratesservice.service.cache;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import currencyrates.currencyratesservice.dto.PayloadCacheStatsDto;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.stream.CurrencyRateStreamWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SerializedRatesCacheTest {
+    //region Fields
+    private static final int PAYLOAD_BYTES = 100;
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 22);
+    private final CurrencyRateStreamWriter streamWriter = mock(CurrencyRateStreamWriter.class);
+    //endregion
+
+    @BeforeEach
+    void init() throws Exception {
+        doAnswer(invocation -> {
+            Stream<CurrencyRate> currencyRates = invocation.getArgument(0);
+            OutputStream outputStream = invocation.getArgument(1);
+            currencyRates.close();
+            outputStream.write(new byte[PAYLOAD_BYTES]);
+
+            return 1L;
+        }).when(streamWriter).writeJsonArray(any(), any());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedOnceOverBudget() throws Exception {
+        SerializedRatesCache cache =
+                new SerializedRatesCache(streamWriter, 2 * PAYLOAD_BYTES + 50, false);
+        RateSnapshot first = snapshotOf(DATE, "39.1");
+        RateSnapshot second = snapshotOf(DATE.plusDays(1), "39.2");
+        RateSnapshot third = snapshotOf(DATE.plusDays(2), "39.3");
+
+        SerializedRates firstPayload = cache.get(first);
+        cache.get(second);
+        assertSame(firstPayload, cache.get(first));
+        cache.get(third);
+        clearInvocations(streamWriter);
+
+        cache.get(first);
+        cache.get(third);
+        verify(streamWriter, never()).writeJsonArray(any(), any());
+        cache.get(second);
+        verify(streamWriter, times(1)).writeJsonArray(any(), any());
+
+        PayloadCacheStatsDto stats = cache.getStats();
+        assertEquals(2, stats.getEntries());
+        assertEquals(2L * PAYLOAD_BYTES, stats.getBytes());
+        assertEquals(2, stats.getEvictions());
+        assertEquals(3, stats.getHits());
+        assertEquals(4, stats.getMisses());
+    }
+
+    @Test
+    void get_countsJsonAndGzipBytesAgainstBudget() {
+        SerializedRatesCache cache =
+                new SerializedRatesCache(streamWriter, 10 * PAYLOAD_BYTES, true);
+
+        SerializedRates payload = cache.get(snapshotOf(DATE, "39.1"));
+
+        assertNotNull(payload.gzip());
+        assertEquals(payload.json().length + payload.gzip().length,
+                cache.getStats().getBytes());
+
+        cache.invalidate(DATE);
+
+        assertEquals(0, cache.getStats().getEntries());
+        assertEquals(0, cache.getStats().getBytes());
+    }
+
+    @Test
+    void get_replacesStaleEtagWithoutDoubleCountingBytes() {
+        SerializedRatesCache cache =
+                new SerializedRatesCache(streamWriter, 10 * PAYLOAD_BYTES, false);
+
+        cache.get(snapshotOf(DATE, "39.1"));
+        SerializedRates replaced = cache.get(snapshotOf(DATE, "39.2"));
+
+        assertNull(replaced.gzip());
+        assertEquals(1, cache.getStats().getEntries());
+        assertEquals(PAYLOAD_BYTES, cache.getStats().getBytes());
+        assertEquals(0, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void get_skipsPayloadLargerThanBudget() throws Exception {
+        SerializedRatesCache cache =
+                new SerializedRatesCache(streamWriter, PAYLOAD_BYTES - 1, false);
+        RateSnapshot snapshot = snapshotOf(DATE, "39.1");
+
+        cache.get(snapshot);
+        cache.get(snapshot);
+
+        verify(streamWriter, times(2)).writeJsonArray(any(), any());
+        assertEquals(0, cache.getStats().getEntries());
+        assertEquals(0, cache.getStats().getBytes());
+        assertEquals(0, cache.getStats().getEvictions());
+    }
+
+    private static RateSnapshot snapshotOf(LocalDate date, String value) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setR030(840L);
+        rate.setCc("USD");
+        rate.setTxt("USD");
+        rate.setRate(new BigDecimal(value));
+        rate.setExchangeDate(date);
+
+        return new RateSnapshot(date, List.of(rate));
+    }
+}
@@ -0,0 +1,95 @@
+package currencyrates.currencyratesservice.service.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SingleFlightTest {
+    //region Fields
+    private static final String KEY = "20240322";
+    private static final int FOLLOWERS = 15;
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    //endregion
+
+    @Test
+    void execute_concurrentCallersShareOneLoad() throws InterruptedException {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Queue<Integer> results = new ConcurrentLinkedQueue<>();
+
+        Thread leader = new Thread(() -> results.add(singleFlight.execute(KEY, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            awaitQuietly(release);
+
+            return 42;
+        })));
+        leader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            Thread follower = new Thread(() -> results.add(singleFlight.execute(KEY, () -> {
+                loads.incrementAndGet();
+
+                return -1;
+            })));
+            follower.start();
+            followers.add(follower);
+        }
+        for (Thread follower : followers) {
+            awaitParked(follower);
+        }
+        release.countDown();
+
+        leader.join(TimeUnit.NANOSECONDS.toMillis(TIMEOUT_NANOS));
+        for (Thread follower : followers) {
+            follower.join(TimeUnit.NANOSECONDS.toMillis(TIMEOUT_NANOS));
+        }
+        assertEquals(FOLLOWERS + 1, results.size());
+        assertTrue(results.stream().allMatch(result -> result == 42));
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void execute_failureIsPropagatedAndNotRetained() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(KEY, () -> {
+            throw new IllegalStateException("NBU is down");
+        }));
+        assertEquals(7, singleFlight.execute(KEY, () -> 7));
+    }
+
+    private static void awaitParked(Thread thread) {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+
+        while (thread.getState() != Thread.State.WAITING) {
+            if (System.nanoTime() - deadline > 0) {
+                fail("Caller " + thread.getName() + " did not join the in-flight load");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
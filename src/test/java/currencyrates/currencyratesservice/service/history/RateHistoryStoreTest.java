@@ -0,0 +1,260 @@
+package currencyrates.currencyratesservice.service.history;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateHistoryStoreTest {
+    //region Fields
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 22);
+    private final CurrencyRateRepository repository = mock(CurrencyRateRepository.class);
+    @TempDir
+    private Path directory;
+    //endregion
+
+    @Test
+    void rebuild_loadsHistoryFromRepository() {
+        when(repository.scanAll(any())).thenAnswer(invocation -> {
+            Consumer<CurrencyRate> consumer = invocation.getArgument(0);
+            consumer.accept(rate("USD", 840L, "38.4402", DATE));
+            consumer.accept(rate("EUR", 978L, "41.5012", DATE));
+
+            return 2L;
+        });
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+
+        assertFalse(store.isReady());
+        store.rebuild();
+
+        assertTrue(store.isReady());
+        assertEquals(Optional.of(new BigDecimal("38.4402")), store.rateOn("usd", DATE));
+        assertEquals(Optional.of(new BigDecimal("41.5012")), store.rateOn(978L, DATE));
+        assertEquals(2, store.getStats().getCurrencies());
+        assertEquals(2, store.getStats().getPoints());
+    }
+
+    @Test
+    void rebuildInBackground_runsRebuildOnExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        RateHistoryStore store = new RateHistoryStore(repository, tasks::add, true);
+
+        store.rebuildInBackground();
+
+        assertEquals(1, tasks.size());
+        verify(repository, never()).scanAll(any());
+        tasks.get(0).run();
+        assertTrue(store.isReady());
+        verify(repository).scanAll(any());
+    }
+
+    @Test
+    void rebuild_disabledStoreSkipsRepository() {
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, false);
+
+        store.rebuild();
+        store.record(List.of(rate("USD", 840L, "38.4402", DATE)));
+
+        assertFalse(store.isReady());
+        assertEquals(Optional.empty(), store.rateOn("USD", DATE));
+        verify(repository, never()).scanAll(any());
+    }
+
+    @Test
+    void record_growsColumnInBothDirections() {
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+
+        store.record(List.of(rate("USD", 840L, "38.4402", DATE)));
+        store.record(List.of(rate("USD", 840L, "8.1", DATE.minusYears(10))));
+        store.record(List.of(rate("USD", 840L, "39", DATE.plusDays(400))));
+
+        assertEquals(Optional.of(new BigDecimal("38.4402")), store.rateOn("USD", DATE));
+        assertEquals(Optional.of(new BigDecimal("8.1")), store.rateOn("USD", DATE.minusYears(10)));
+        assertEquals(Optional.of(new BigDecimal("39")), store.rateOn("USD", DATE.plusDays(400)));
+        assertEquals(Optional.empty(), store.rateOn("USD", DATE.minusDays(1)));
+        assertEquals(3, store.getStats().getPoints());
+    }
+
+    @Test
+    void series_returnsStoredDaysInOrder() {
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+        CurrencyRate first = rate("USD", 840L, "38.4402", DATE);
+        first.setReceivingDate(LocalDateTime.of(2024, 3, 22, 10, 15, 30));
+
+        store.record(List.of(first,
+                rate("USD", 840L, "38.5", DATE.plusDays(2)),
+                rate("EUR", 978L, "41.5012", DATE.plusDays(1))));
+
+        List<CurrencyRate> series = store.series("USD", DATE.minusDays(1), DATE.plusDays(5)).toList();
+
+        assertEquals(2, series.size());
+        assertEquals(first, series.get(0));
+        assertEquals(DATE.plusDays(2), series.get(1).getExchangeDate());
+        assertEquals(new BigDecimal("38.5"), series.get(1).getRate());
+        assertEquals(List.of(), store.series("GBP", DATE, DATE.plusDays(5)).toList());
+    }
+
+    @Test
+    void remove_clearsDateForAllCurrencies() {
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+        store.record(List.of(rate("USD", 840L, "38.4402", DATE),
+                rate("EUR", 978L, "41.5012", DATE),
+                rate("USD", 840L, "38.5", DATE.plusDays(1))));
+
+        store.remove(DATE);
+
+        assertEquals(Optional.empty(), store.rateOn("USD", DATE));
+        assertEquals(Optional.empty(), store.rateOn("EUR", DATE));
+        assertEquals(Optional.of(new BigDecimal("38.5")), store.rateOn("USD", DATE.plusDays(1)));
+        assertEquals(1, store.getStats().getPoints());
+    }
+
+    @Test
+    void loadSnapshot_mapsWrittenHistory() throws IOException {
+        Path snapshot = directory.resolve("history.snapshot");
+        CurrencyRate usd = rate("USD", 840L, "38.4402", DATE);
+        usd.setReceivingDate(LocalDateTime.of(2024, 3, 22, 10, 15, 30));
+        RateHistoryStore source = new RateHistoryStore(repository, Runnable::run, true);
+        source.record(List.of(usd, rate("EUR", 978L, "41.5012", DATE.minusDays(30))));
+
+        assertEquals(2, source.writeSnapshot(snapshot));
+
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+        assertTrue(store.loadSnapshot(snapshot));
+
+        assertTrue(store.isReady());
+        assertNotNull(store.getStats().getSnapshotTakenAt());
+        assertEquals(Optional.of(usd), store.findRate("USD", DATE));
+        assertEquals(Optional.of(new BigDecimal("41.5012")), store.rateOn(978L, DATE.minusDays(30)));
+        assertEquals(2, store.getStats().getPoints());
+    }
+
+    @Test
+    void loadSnapshot_acceptsUpdatesAndReconcilesSinceSnapshot() throws IOException {
+        Path snapshot = directory.resolve("history.snapshot");
+        RateHistoryStore source = new RateHistoryStore(repository, Runnable::run, true);
+        source.record(List.of(rate("USD", 840L, "38.4402", DATE)));
+        source.writeSnapshot(snapshot);
+        when(repository.countByExchangeDate()).thenReturn(Map.of(DATE, 1, DATE.plusDays(1), 1));
+        when(repository.scanReceivedSince(any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<CurrencyRate> consumer = invocation.getArgument(2);
+            consumer.accept(rate("USD", 840L, "38.5", DATE.plusDays(1)));
+
+            return 1L;
+        });
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+        store.loadSnapshot(snapshot);
+
+        store.rebuild();
+        store.remove(DATE);
+
+        assertEquals(Optional.empty(), store.rateOn("USD", DATE));
+        assertEquals(Optional.of(new BigDecimal("38.5")), store.rateOn("USD", DATE.plusDays(1)));
+        assertEquals(Optional.of(new BigDecimal("38.4402")), source.rateOn("USD", DATE));
+        verify(repository).scanReceivedSince(any(), eq(Set.of(DATE.plusDays(1))), any());
+        verify(repository, never()).scanAll(any());
+    }
+
+    @Test
+    void rebuild_dropsSnapshotDaysMissingFromDatabase() throws IOException {
+        Path snapshot = directory.resolve("history.snapshot");
+        RateHistoryStore source = new RateHistoryStore(repository, Runnable::run, true);
+        source.record(List.of(rate("USD", 840L, "38.4402", DATE),
+                rate("EUR", 978L, "41.5012", DATE),
+                rate("USD", 840L, "38.1", DATE.minusDays(1))));
+        source.writeSnapshot(snapshot);
+        when(repository.countByExchangeDate()).thenReturn(Map.of(DATE.minusDays(1), 1));
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+        store.loadSnapshot(snapshot);
+
+        store.rebuild();
+
+        assertEquals(Optional.empty(), store.rateOn("USD", DATE));
+        assertEquals(Optional.empty(), store.rateOn("EUR", DATE));
+        assertEquals(Optional.of(new BigDecimal("38.1")), store.rateOn("USD", DATE.minusDays(1)));
+        assertEquals(1, store.getStats().getPoints());
+        verify(repository).scanReceivedSince(any(), eq(Set.of(DATE)), any());
+        verify(repository, never()).upsertAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_restoresSnapshotIntoWipedDatabase() throws IOException {
+        Path snapshot = directory.resolve("history.snapshot");
+        RateHistoryStore source = new RateHistoryStore(repository, Runnable::run, true);
+        source.record(List.of(rate("USD", 840L, "38.4402", DATE),
+                rate("EUR", 978L, "41.5012", DATE),
+                rate("USD", 840L, "38.1", DATE.minusDays(1))));
+        source.writeSnapshot(snapshot);
+        when(repository.countByExchangeDate()).thenReturn(Map.of());
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+        store.loadSnapshot(snapshot);
+
+        store.rebuild();
+
+        ArgumentCaptor<List<CurrencyRate>> restored = ArgumentCaptor.forClass(List.class);
+        verify(repository).upsertAll(restored.capture());
+        assertEquals(List.of(DATE.minusDays(1), DATE, DATE), restored.getValue().stream()
+                .map(CurrencyRate::getExchangeDate)
+                .toList());
+        assertEquals(Optional.of(new BigDecimal("38.4402")), store.rateOn("USD", DATE));
+        assertEquals(3, store.getStats().getPoints());
+        verify(repository).scanReceivedSince(any(), eq(Set.of()), any());
+    }
+
+    @Test
+    void datesBetween_returnsDaysWithAnyRate() {
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+        store.record(List.of(rate("USD", 840L, "38.4402", DATE),
+                rate("EUR", 978L, "41.5012", DATE.plusDays(2)),
+                rate("USD", 840L, "38.5", DATE.plusDays(2)),
+                rate("EUR", 978L, "41.6", DATE.plusDays(10))));
+
+        assertEquals(List.of(DATE, DATE.plusDays(2)), store.datesBetween(DATE.minusDays(3), DATE.plusDays(5)));
+        assertEquals(List.of(), store.datesBetween(DATE.plusDays(3), DATE.plusDays(9)));
+    }
+
+    @Test
+    void loadSnapshot_rejectsUnknownFormat() throws IOException {
+        Path snapshot = Files.writeString(directory.resolve("history.snapshot"), "not a snapshot");
+        RateHistoryStore store = new RateHistoryStore(repository, Runnable::run, true);
+
+        assertFalse(store.loadSnapshot(snapshot));
+        assertFalse(store.isReady());
+    }
+
+    private static CurrencyRate rate(String currencyCode, long r030, String value, LocalDate date) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setR030(r030);
+        rate.setTxt(currencyCode);
+        rate.setCc(currencyCode);
+        rate.setRate(new BigDecimal(value));
+        rate.setExchangeDate(date);
+
+        return rate;
+    }
+}
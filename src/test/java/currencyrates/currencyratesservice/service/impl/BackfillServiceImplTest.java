@@ -0,0 +1,151 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import currencyrates.currencyratesservice.dto.BackfillJobDto;
+import currencyrates.currencyratesservice.exception.CurrencyRateSaveException;
+import currencyrates.currencyratesservice.exception.NbuUnavailableException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.NbuService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BackfillServiceImplTest {
+    //region Fields
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 18);
+    private static final LocalDate TO = FROM.plusDays(4);
+    private final CurrencyRateRepository repository = mock(CurrencyRateRepository.class);
+    private final CurrencyRateService currencyRateService = mock(CurrencyRateService.class);
+    private final NbuService nbuService = mock(NbuService.class);
+    private BackfillServiceImpl backfillService;
+    //endregion
+
+    @BeforeEach
+    void init() {
+        backfillService = new BackfillServiceImpl(repository, currencyRateService, nbuService,
+                Clock.systemDefaultZone(), 2, 1000, 2, 7300, false);
+        when(currencyRateService.saveAllToDB(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        backfillService.shutdown();
+    }
+
+    @Test
+    void startBackfill_countsPersistedEmptyFailedAndSkippedDays() {
+        when(repository.findExchangeDatesBetween(FROM, TO)).thenReturn(List.of(FROM));
+        when(nbuService.fetchRatesForDate(FROM.plusDays(1)))
+                .thenReturn(List.of(rate("USD", FROM.plusDays(1)), rate("EUR", FROM.plusDays(1))));
+        when(nbuService.fetchRatesForDate(FROM.plusDays(2))).thenReturn(List.of());
+        when(nbuService.fetchRatesForDate(FROM.plusDays(3)))
+                .thenThrow(new NbuUnavailableException("NBU is down"));
+        when(nbuService.fetchRatesForDate(TO)).thenReturn(List.of(rate("USD", TO)));
+
+        BackfillJobDto job = awaitFinished(backfillService.startBackfill(FROM, TO).getJobId());
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(5, job.getTotalDays());
+        assertEquals(1, job.getSkippedDays());
+        assertEquals(2, job.getPersistedDays());
+        assertEquals(3, job.getPersistedRows());
+        assertEquals(1, job.getEmptyDays());
+        assertEquals(1, job.getFailedDays());
+        verify(nbuService, never()).fetchRatesForDate(FROM);
+    }
+
+    @Test
+    void startBackfill_failedSaveCountsBufferedDaysAsFailed() {
+        when(repository.findExchangeDatesBetween(FROM, FROM)).thenReturn(List.of());
+        when(nbuService.fetchRatesForDate(FROM)).thenReturn(List.of(rate("USD", FROM)));
+        when(currencyRateService.saveAllToDB(anyList()))
+                .thenThrow(new CurrencyRateSaveException("Failed to save currency rates.",
+                        new IllegalStateException("database is down")));
+
+        BackfillJobDto job = awaitFinished(backfillService.startBackfill(FROM, FROM).getJobId());
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(0, job.getPersistedDays());
+        assertEquals(1, job.getFailedDays());
+    }
+
+    @Test
+    void startBackfill_lookupErrorFailsJob() {
+        when(repository.findExchangeDatesBetween(FROM, TO))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        BackfillJobDto job = awaitFinished(backfillService.startBackfill(FROM, TO).getJobId());
+
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("connection refused", job.getError());
+        assertNotNull(job.getFinishedAt());
+        verify(nbuService, never()).fetchRatesForDate(FROM);
+    }
+
+    @Test
+    void startBackfill_virtualThreadsKeepWorkerLimit() throws InterruptedException {
+        backfillService.shutdown();
+        backfillService = new BackfillServiceImpl(repository, currencyRateService, nbuService,
+                Clock.systemDefaultZone(), 2, 1000, 2, 7300, true);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(repository.findExchangeDatesBetween(FROM, TO)).thenReturn(List.of());
+        when(nbuService.fetchRatesForDate(any(LocalDate.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+
+            return List.of(rate("USD", invocation.getArgument(0)));
+        });
+
+        BackfillJobDto job = awaitFinished(backfillService.startBackfill(FROM, TO).getJobId());
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(5, job.getPersistedDays());
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    private BackfillJobDto awaitFinished(String jobId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (System.nanoTime() - deadline < 0) {
+            BackfillJobDto job = backfillService.getJob(jobId);
+
+            if (job.getStatus().equals("COMPLETED") || job.getStatus().equals("FAILED")) {
+                return job;
+            }
+            Thread.onSpinWait();
+        }
+
+        return fail("Backfill job " + jobId + " did not finish");
+    }
+
+    private static CurrencyRate rate(String currencyCode, LocalDate date) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setCc(currencyCode);
+        rate.setRate(BigDecimal.ONE);
+        rate.setExchangeDate(date);
+
+        return rate;
+    }
+}
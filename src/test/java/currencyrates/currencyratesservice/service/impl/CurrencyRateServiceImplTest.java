@@ -0,0 +1,308 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import currencyrates.currencyratesservice.dto.RateLookupRequestDto;
+import currencyrates.currencyratesservice.dto.RateStatsDto;
+import currencyrates.currencyratesservice.exception.CurrencyRateNotFoundException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import currencyrates.currencyratesservice.repository.RateAggregate;
+import currencyrates.currencyratesservice.service.NbuService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshotCache;
+import currencyrates.currencyratesservice.service.cache.SerializedRatesCache;
+import currencyrates.currencyratesservice.service.history.RateHistorySnapshotFile;
+import currencyrates.currencyratesservice.service.history.RateHistoryStore;
+import currencyrates.currencyratesservice.service.metrics.RateMetrics;
+import currencyrates.currencyratesservice.service.writebehind.RateWriteBehindQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CurrencyRateServiceImplTest {
+    //region Fields
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 18);
+    private static final LocalDate TO = FROM.plusDays(3);
+    private static final int MAX_PARALLEL_FETCHES = 2;
+    private final CurrencyRateRepository repository = mock(CurrencyRateRepository.class);
+    private final NbuService nbuService = mock(NbuService.class);
+    private final RateSnapshotCache rateSnapshotCache = new RateSnapshotCache(64, Duration.ofHours(1));
+    private final RateWriteBehindQueue rateWriteBehindQueue = mock(RateWriteBehindQueue.class);
+    private final RateHistorySnapshotFile rateHistorySnapshotFile = mock(RateHistorySnapshotFile.class);
+    private CurrencyRateServiceImpl currencyRateService;
+    //endregion
+
+    @BeforeEach
+    void init() {
+        currencyRateService = newService(new RateHistoryStore(repository, Runnable::run, false));
+    }
+
+    @Test
+    void ensureRatesForPeriod_fetchesMissingDaysInBoundedParallel() {
+        CyclicBarrier pair = new CyclicBarrier(MAX_PARALLEL_FETCHES);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(repository.findExchangeDatesBetween(FROM, TO)).thenReturn(List.of(FROM));
+        when(nbuService.fetchRatesForDate(any(LocalDate.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            LocalDate date = invocation.getArgument(0);
+
+            try {
+                if (!date.equals(TO)) {
+                    pair.await(5, TimeUnit.SECONDS);
+                }
+
+                return List.of(rate("USD", date));
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+
+        currencyRateService.ensureRatesForPeriod(FROM, TO);
+
+        for (LocalDate date : FROM.plusDays(1).datesUntil(TO.plusDays(1)).toList()) {
+            verify(nbuService).fetchRatesForDate(date);
+            assertTrue(rateSnapshotCache.peek(date).isPresent());
+        }
+        assertTrue(maxInFlight.get() <= MAX_PARALLEL_FETCHES);
+        assertEquals(MAX_PARALLEL_FETCHES, maxInFlight.get());
+    }
+
+    @Test
+    void findSnapshotByDate_servesRatesWaitingInWriteBehindQueue() {
+        List<CurrencyRate> pendingRates = List.of(rate("USD", FROM), rate("EUR", FROM));
+        when(rateWriteBehindQueue.pendingRates(FROM)).thenReturn(pendingRates);
+
+        assertEquals(pendingRates, currencyRateService.findSnapshotByDate(FROM).getRates());
+        verify(nbuService, never()).fetchRatesForDate(any(LocalDate.class));
+    }
+
+    @Test
+    void findRatesByCurrenciesAndDates_servesEachDateFromItsOwnSource() {
+        RateHistoryStore rateHistoryStore = new RateHistoryStore(repository, Runnable::run, true);
+        rateHistoryStore.record(List.of(rate("USD", FROM)));
+        rateHistoryStore.rebuild();
+        currencyRateService = newService(rateHistoryStore);
+        when(repository.findAllByExchangeDateIn(List.of(FROM.plusDays(1), TO)))
+                .thenReturn(List.of(rate("USD", FROM.plusDays(1))));
+        when(rateWriteBehindQueue.pendingRates(TO)).thenReturn(List.of(rate("USD", TO)));
+
+        List<CurrencyRate> rates = currencyRateService.findRatesByCurrenciesAndDates(
+                List.of(lookup("USD", FROM), lookup("USD", FROM.plusDays(1)), lookup("USD", TO)));
+
+        assertEquals(List.of(FROM, FROM.plusDays(1), TO),
+                rates.stream().map(CurrencyRate::getExchangeDate).toList());
+        verify(repository, never()).findAllByExchangeDate(any(LocalDate.class));
+        verify(nbuService, never()).fetchRatesForDate(any(LocalDate.class));
+    }
+
+    @Test
+    void findRatesByCurrenciesAndDates_doesNotCacheRowsOfAnotherDate() {
+        when(repository.findAllByExchangeDateIn(List.of(FROM)))
+                .thenReturn(List.of(rate("USD", FROM), rate("EUR", FROM.minusDays(1))));
+
+        currencyRateService.findRatesByCurrenciesAndDates(List.of(lookup("USD", FROM)));
+
+        assertTrue(rateSnapshotCache.peek(FROM).isEmpty());
+    }
+
+    @Test
+    void findRateByDateAndCurrency_servesRateWaitingInWriteBehindQueue() {
+        CurrencyRate pendingRate = rate("USD", FROM);
+        when(rateWriteBehindQueue.pendingRate("USD", FROM)).thenReturn(Optional.of(pendingRate));
+
+        assertSame(pendingRate, currencyRateService.findRateByDateAndCurrency("USD", FROM));
+        verify(nbuService, never()).fetchRateForCurrencyOnDate("USD", FROM);
+    }
+
+    @Test
+    void ensureRatesForPeriod_countsQueuedDatesAsPresent() {
+        when(repository.findExchangeDatesBetween(FROM, TO)).thenReturn(List.of(FROM, TO));
+        when(rateWriteBehindQueue.pendingDatesBetween(FROM, TO))
+                .thenReturn(Set.of(FROM.plusDays(1), FROM.plusDays(2)));
+        when(rateWriteBehindQueue.pendingRates(FROM.plusDays(1)))
+                .thenReturn(List.of(rate("USD", FROM.plusDays(1))));
+        when(rateWriteBehindQueue.pendingRates(FROM.plusDays(2)))
+                .thenReturn(List.of(rate("USD", FROM.plusDays(2))));
+
+        currencyRateService.ensureRatesForPeriod(FROM, TO);
+
+        verify(nbuService, never()).fetchRatesForDate(any(LocalDate.class));
+        verify(repository).upsertAll(List.of(rate("USD", FROM.plusDays(1)),
+                rate("USD", FROM.plusDays(2))));
+    }
+
+    @Test
+    void ensureRatesForPeriod_checksHistoryStoreWhenReady() {
+        RateHistoryStore rateHistoryStore = new RateHistoryStore(repository, Runnable::run, true);
+        rateHistoryStore.record(List.of(rate("USD", FROM), rate("USD", FROM.plusDays(1)),
+                rate("EUR", FROM.plusDays(2))));
+        rateHistoryStore.rebuild();
+        currencyRateService = newService(rateHistoryStore);
+        when(nbuService.fetchRatesForDate(TO)).thenReturn(List.of(rate("USD", TO)));
+
+        currencyRateService.ensureRatesForPeriod(FROM, TO);
+
+        verify(nbuService).fetchRatesForDate(TO);
+        verify(nbuService, never()).fetchRatesForDate(FROM);
+        verify(repository, never()).findExchangeDatesBetween(FROM, TO);
+    }
+
+    @Test
+    void deleteByDate_requestsHistorySnapshotWrite() {
+        when(repository.deleteAllByExchangeDate(FROM)).thenReturn(2);
+
+        currencyRateService.deleteByDate(FROM);
+
+        verify(rateWriteBehindQueue).discard(FROM);
+        verify(rateHistorySnapshotFile).requestWrite();
+    }
+
+    @Test
+    void deleteByDate_deletesDateHeldOnlyInWriteBehindQueue() {
+        when(rateWriteBehindQueue.discard(FROM)).thenReturn(2);
+        when(repository.deleteAllByExchangeDate(FROM)).thenReturn(0);
+
+        currencyRateService.deleteByDate(FROM);
+
+        verify(rateHistorySnapshotFile).requestWrite();
+    }
+
+    @Test
+    void deleteByDate_unknownDateIsNotFound() {
+        when(repository.deleteAllByExchangeDate(FROM)).thenReturn(0);
+
+        assertThrows(CurrencyRateNotFoundException.class,
+                () -> currencyRateService.deleteByDate(FROM));
+        verify(rateHistorySnapshotFile, never()).requestWrite();
+    }
+
+    @Test
+    void findRateStats_oneDayWindowHasNoDeviation() {
+        BigDecimal rate = new BigDecimal("39.2000");
+        when(repository.aggregateRates("USD", FROM, FROM)).thenReturn(Optional.of(
+                new RateAggregate(1, rate, rate, new BigDecimal("39.2000000000000000"), null,
+                        rate, rate, FROM, FROM)));
+
+        RateStatsDto stats = currencyRateService.findRateStats("usd", FROM, FROM);
+
+        assertEquals("USD", stats.getCurrencyCode());
+        assertEquals(1, stats.getDays());
+        assertEquals(new BigDecimal("39.200000"), stats.getAvgRate());
+        assertNull(stats.getStddevRate());
+        assertEquals(new BigDecimal("0.0000"), stats.getChange());
+        assertEquals(new BigDecimal("0.0000"), stats.getChangePercent());
+        assertEquals(FROM, stats.getFirstDate());
+        assertEquals(FROM, stats.getLastDate());
+    }
+
+    @Test
+    void findRateStats_persistsQueuedRowsBeforeAggregating() {
+        BigDecimal rate = new BigDecimal("39.2000");
+        when(rateWriteBehindQueue.pendingDatesBetween(FROM, FROM)).thenReturn(Set.of(FROM));
+        when(rateWriteBehindQueue.pendingRates(FROM)).thenReturn(List.of(rate("USD", FROM)));
+        when(repository.aggregateRates("USD", FROM, FROM)).thenReturn(Optional.of(
+                new RateAggregate(1, rate, rate, rate, null, rate, rate, FROM, FROM)));
+
+        currencyRateService.findRateStats("USD", FROM, FROM);
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).upsertAll(List.of(rate("USD", FROM)));
+        order.verify(repository).aggregateRates("USD", FROM, FROM);
+    }
+
+    @Test
+    void findRateStats_multiDayWindowComparesFirstAndLastRate() {
+        when(repository.aggregateRates("USD", FROM, TO)).thenReturn(Optional.of(new RateAggregate(4,
+                new BigDecimal("38.9000"), new BigDecimal("39.6000"),
+                new BigDecimal("39.2625000000000000"), new BigDecimal("0.29860788111948"),
+                new BigDecimal("39.0000"), new BigDecimal("39.5000"), FROM, TO)));
+
+        RateStatsDto stats = currencyRateService.findRateStats("USD", FROM, TO);
+
+        assertEquals(4, stats.getDays());
+        assertEquals(new BigDecimal("38.9000"), stats.getMinRate());
+        assertEquals(new BigDecimal("39.6000"), stats.getMaxRate());
+        assertEquals(new BigDecimal("39.262500"), stats.getAvgRate());
+        assertEquals(new BigDecimal("0.298608"), stats.getStddevRate());
+        assertEquals(new BigDecimal("39.0000"), stats.getFirstRate());
+        assertEquals(FROM, stats.getFirstDate());
+        assertEquals(new BigDecimal("39.5000"), stats.getLastRate());
+        assertEquals(TO, stats.getLastDate());
+        assertEquals(new BigDecimal("0.5000"), stats.getChange());
+        assertEquals(new BigDecimal("1.2821"), stats.getChangePercent());
+    }
+
+    @Test
+    void findRateStats_emptyWindowIsNotFound() {
+        when(repository.aggregateRates("USD", FROM, TO)).thenReturn(Optional.empty());
+
+        assertThrows(CurrencyRateNotFoundException.class,
+                () -> currencyRateService.findRateStats("USD", FROM, TO));
+    }
+
+    private CurrencyRateServiceImpl newService(RateHistoryStore rateHistoryStore) {
+        CurrencyRateServiceImpl service = new CurrencyRateServiceImpl(
+                repository,
+                nbuService,
+                rateSnapshotCache,
+                mock(SerializedRatesCache.class),
+                mock(EntityManager.class),
+                new RateMetrics(new SimpleMeterRegistry()),
+                rateWriteBehindQueue,
+                rateHistoryStore,
+                rateHistorySnapshotFile,
+                mock(PlatformTransactionManager.class),
+                Clock.systemDefaultZone());
+        ReflectionTestUtils.setField(service, "maxLookupBatchSize", 16);
+        ReflectionTestUtils.setField(service, "maxSeriesDays", 3660L);
+        ReflectionTestUtils.setField(service, "maxMissingSeriesDays", 31);
+        ReflectionTestUtils.setField(service, "maxParallelSeriesFetches", MAX_PARALLEL_FETCHES);
+        ReflectionTestUtils.setField(service, "maxStatsDays", 3660L);
+
+        return service;
+    }
+
+    private static RateLookupRequestDto lookup(String currencyCode, LocalDate date) {
+        RateLookupRequestDto lookup = new RateLookupRequestDto();
+        lookup.setValcode(currencyCode);
+        lookup.setDate(date);
+
+        return lookup;
+    }
+
+    private static CurrencyRate rate(String currencyCode, LocalDate date) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setR030(840L);
+        rate.setCc(currencyCode);
+        rate.setTxt(currencyCode);
+        rate.setRate(BigDecimal.valueOf(39.2));
+        rate.setExchangeDate(date);
+
+        return rate;
+    }
+}
@@ -0,0 +1,160 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import currencyrates.currencyratesservice.exception.NbuUnavailableException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.nbu.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NbuServiceImplTest {
+    //region Fields
+    private static final String RATES_JSON = """
+            [{"r030":840,"txt":"US Dollar","rate":39.2,"cc":"USD","exchangedate":"22.03.2024"}]""";
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final Queue<String> requestedQueries = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private String baseUrl;
+    //endregion
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/exchange", this::respond);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/exchange?json";
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetchRatesForDate_retriesTransientFailures() {
+        statuses.add(503);
+        statuses.add(200);
+        NbuServiceImpl nbuService = newService(3, 5);
+
+        List<CurrencyRate> rates = nbuService.fetchRatesForDate(LocalDate.of(2024, 3, 22));
+
+        assertEquals(1, rates.size());
+        assertEquals("USD", rates.get(0).getCc());
+        assertEquals(2, hits.get());
+        assertEquals("json&date=20240322", requestedQueries.peek());
+    }
+
+    @Test
+    void fetchRateForCurrencyOnDate_sendsValcodeAndDate() {
+        statuses.add(200);
+        NbuServiceImpl nbuService = newService(1, 5);
+
+        CurrencyRate rate = nbuService.fetchRateForCurrencyOnDate("USD", LocalDate.of(2024, 3, 22));
+
+        assertEquals("USD", rate.getCc());
+        assertEquals("json&valcode=USD&date=20240322", requestedQueries.peek());
+    }
+
+    @Test
+    void fetchCurrentRates_openCircuitServesLastKnownRates() {
+        statuses.add(200);
+        NbuServiceImpl nbuService = newService(1, 2);
+
+        assertFalse(nbuService.fetchCurrentRates().get(0).isFallback());
+        assertEquals(1, nbuService.fetchCurrentRates().size());
+        assertEquals(1, nbuService.fetchCurrentRates().size());
+        assertEquals(CircuitBreaker.State.OPEN, nbuService.getCircuitState());
+        assertEquals(3, hits.get());
+
+        List<CurrencyRate> rates = nbuService.fetchCurrentRates();
+
+        assertEquals("USD", rates.get(0).getCc());
+        assertTrue(rates.get(0).isFallback());
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    void fetchCurrentRates_reusesAttemptTimersAndPublishesCircuitState() {
+        statuses.add(200);
+        statuses.add(200);
+        NbuServiceImpl nbuService = newService(1, 2);
+
+        assertEquals(0, meterRegistry.get("nbu.circuit.state").gauge().value());
+        nbuService.fetchCurrentRates();
+        nbuService.fetchCurrentRates();
+        nbuService.fetchCurrentRates();
+        nbuService.fetchCurrentRates();
+
+        assertEquals(2, meterRegistry.get("nbu.requests")
+                .tags("outcome", "success", "status", "200").timer().count());
+        assertEquals(2, meterRegistry.get("nbu.requests")
+                .tags("outcome", "server_error", "status", "500").timer().count());
+        assertEquals(2, meterRegistry.get("nbu.requests").timers().size());
+        assertEquals(CircuitBreaker.State.OPEN, nbuService.getCircuitState());
+        assertEquals(2, meterRegistry.get("nbu.circuit.state").gauge().value());
+    }
+
+    @Test
+    void fetchRatesForDate_failsWithoutLastKnownRates() {
+        NbuServiceImpl nbuService = newService(2, 5);
+
+        assertThrows(NbuUnavailableException.class,
+                () -> nbuService.fetchRatesForDate(LocalDate.of(2024, 3, 22)));
+        assertEquals(2, hits.get());
+    }
+
+    private NbuServiceImpl newService(int maxAttempts, int failureThreshold) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        NbuServiceImpl nbuService = new NbuServiceImpl(
+                HttpClient.newHttpClient(),
+                objectMapper,
+                Duration.ofSeconds(2),
+                maxAttempts,
+                Duration.ofMillis(1),
+                Duration.ofMillis(5),
+                failureThreshold,
+                Duration.ofMinutes(1),
+                meterRegistry);
+        ReflectionTestUtils.setField(nbuService, "nbuApiUrl", baseUrl);
+
+        return nbuService;
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        requestedQueries.add(exchange.getRequestURI().getRawQuery());
+        Integer status = statuses.poll();
+        int code = status == null ? 500 : status;
+        byte[] body = code == 200 ? RATES_JSON.getBytes(StandardCharsets.UTF_8) : new byte[0];
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
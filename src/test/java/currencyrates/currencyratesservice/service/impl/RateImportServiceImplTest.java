@@ -0,0 +1,163 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import currencyrates.currencyratesservice.dto.ImportReportDto;
+import currencyrates.currencyratesservice.dto.RejectedLineDto;
+import currencyrates.currencyratesservice.exception.CurrencyRateSaveException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshotCache;
+import currencyrates.currencyratesservice.service.cache.SerializedRatesCache;
+import currencyrates.currencyratesservice.service.importer.RateImportFormat;
+import currencyrates.currencyratesservice.service.importer.RateImportParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateImportServiceImplTest {
+    //region Fields
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 22);
+    private final CurrencyRateService currencyRateService = mock(CurrencyRateService.class);
+    private final RateSnapshotCache rateSnapshotCache = mock(RateSnapshotCache.class);
+    private final SerializedRatesCache serializedRatesCache = mock(SerializedRatesCache.class);
+    private final List<CurrencyRate> savedRates = Collections.synchronizedList(new ArrayList<>());
+    private RateImportServiceImpl rateImportService;
+    //endregion
+
+    @BeforeEach
+    void init() {
+        when(currencyRateService.saveAllToDB(anyList())).thenAnswer(invocation -> {
+            List<CurrencyRate> batch = invocation.getArgument(0);
+            savedRates.addAll(batch);
+
+            return batch;
+        });
+        rateImportService = new RateImportServiceImpl(currencyRateService,
+                new RateImportParser(new ObjectMapper()), rateSnapshotCache, serializedRatesCache,
+                Clock.systemDefaultZone(), 2, 2, 10, false);
+    }
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        rateImportService.shutdown();
+    }
+
+    @Test
+    void importRates_nbuJson() throws IOException {
+        String json = """
+                [
+                {"r030":840,"txt":"Долар США","rate":39.4402,"cc":"USD","exchangedate":"22.03.2024"},
+                {"r030":978,"txt":"Євро","rate":42.9,"cc":"EUR","exchangedate":"22.03.2024"},
+                {"r030":826,"txt":"Фунт стерлінгів","rate":-1,"cc":"GBP","exchangedate":"22.03.2024"},
+                {"r030":985,"txt":"Злотий","rate":9.8,"cc":"PLN","exchangedate":"2024-03-21"},
+                {"r030":756,"txt":"Швейцарський франк","rate":43.6,"cc":"CHF"}
+                ]
+                """;
+
+        ImportReportDto report = rateImportService.importRates(input(json), RateImportFormat.JSON);
+
+        assertEquals(5, report.getRowsRead());
+        assertEquals(3, report.getRowsImported());
+        assertEquals(2, report.getRowsRejected());
+        assertEquals(List.of(3L, 5L), report.getRejectedLines().stream()
+                .map(RejectedLineDto::getLine)
+                .toList());
+        assertEquals(3, savedRates.size());
+        assertTrue(savedRates.stream().anyMatch(rate -> rate.getCc().equals("USD")
+                && rate.getRate().equals(new BigDecimal("39.4402"))
+                && rate.getExchangeDate().equals(DATE)
+                && rate.getReceivingDate() != null));
+        verify(rateSnapshotCache).invalidate(DATE);
+        verify(serializedRatesCache).invalidate(DATE.minusDays(1));
+    }
+
+    @Test
+    void importRates_csvWithExportHeader() throws IOException {
+        String csv = """
+                currency_code,currency_name,rate,exchange_date,receiving_date
+                usd,"Dollar, US",39.4402,2024-03-22,2024-03-22T10:15:30
+                EUR,Euro,42.9,22.03.2024,
+                USDX,Bad,1,2024-03-22,
+                USD,"Dollar, US",39.5,2024-03-22,
+                """;
+
+        ImportReportDto report = rateImportService.importRates(input(csv), RateImportFormat.CSV);
+
+        assertEquals(4, report.getRowsRead());
+        assertEquals(2, report.getRowsImported());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals(1, report.getRowsSuperseded());
+        assertEquals(List.of(4L), report.getRejectedLines().stream()
+                .map(RejectedLineDto::getLine)
+                .toList());
+        List<CurrencyRate> savedUsd = savedRates.stream()
+                .filter(rate -> rate.getCc().equals("USD"))
+                .toList();
+        assertEquals(new BigDecimal("39.5"), savedUsd.get(savedUsd.size() - 1).getRate());
+        assertEquals("Dollar, US", savedUsd.get(savedUsd.size() - 1).getTxt());
+    }
+
+    @Test
+    void importRates_malformedJsonStopsImport() throws IOException {
+        String json = """
+                [
+                {"rate":39.4402,"cc":"USD","exchangedate":"22.03.2024"},
+                {"rate":42.9,"cc":"EUR",
+                """;
+
+        ImportReportDto report = rateImportService.importRates(input(json), RateImportFormat.JSON);
+
+        assertEquals(1, report.getRowsImported());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals(2, report.getRejectedLines().get(0).getLine());
+        assertTrue(report.getRejectedLines().get(0).getReason().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void importRates_failedBatchIsRejected() throws IOException {
+        when(currencyRateService.saveAllToDB(anyList()))
+                .thenThrow(new CurrencyRateSaveException("Failed to save currency rates.", null));
+        String csv = """
+                cc,rate,exchangedate
+                USD,39.4402,22.03.2024
+                """;
+
+        ImportReportDto report = rateImportService.importRates(input(csv), RateImportFormat.CSV);
+
+        assertEquals(0, report.getRowsImported());
+        assertEquals(1, report.getRowsRejected());
+        assertEquals(2, report.getRejectedLines().get(0).getLine());
+    }
+
+    @Test
+    void importRates_csvWithoutRequiredColumns() throws IOException {
+        ImportReportDto report = rateImportService.importRates(input("cc,rate\nUSD,1\n"),
+                RateImportFormat.CSV);
+
+        assertEquals(0, report.getRowsRead());
+        assertEquals(1, report.getRowsRejected());
+        verify(currencyRateService, never()).saveAllToDB(anyList());
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,145 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import currencyrates.currencyratesservice.dto.PrewarmStatusDto;
+import currencyrates.currencyratesservice.exception.NbuUnavailableException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RatesPrewarmServiceImplTest {
+    //region Fields
+    private static final String ZONE = "Pacific/Kiritimati";
+    private static final Duration INITIAL_DELAY = Duration.ofMinutes(1);
+    private static final Duration MAX_DELAY = Duration.ofMinutes(5);
+    private static final int MAX_ATTEMPTS = 5;
+    private final CurrencyRateService currencyRateService = mock(CurrencyRateService.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private RatesPrewarmServiceImpl prewarmService;
+    private LocalDate today;
+    //endregion
+
+    @BeforeEach
+    void init() {
+        prewarmService = new RatesPrewarmServiceImpl(currencyRateService, taskScheduler,
+                Clock.system(ZoneId.of(ZONE)));
+        ReflectionTestUtils.setField(prewarmService, "initialRetryDelay", INITIAL_DELAY);
+        ReflectionTestUtils.setField(prewarmService, "maxRetryDelay", MAX_DELAY);
+        ReflectionTestUtils.setField(prewarmService, "maxAttempts", MAX_ATTEMPTS);
+        today = LocalDate.now(ZoneId.of(ZONE));
+    }
+
+    @Test
+    void prewarmCurrentRates_warmsTodayInConfiguredZone() {
+        when(currencyRateService.findSnapshotByDate(today)).thenReturn(snapshotOf(today, today));
+
+        prewarmService.prewarmCurrentRates();
+
+        PrewarmStatusDto status = prewarmService.getStatus();
+        assertNotNull(status.getLastSuccess());
+        assertNull(status.getLastError());
+        assertEquals(0, status.getConsecutiveFailures());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void prewarmCurrentRates_retriesUntilTodaysRatesArePublished() {
+        when(currencyRateService.findSnapshotByDate(today))
+                .thenReturn(snapshotOf(today, today.minusDays(1)))
+                .thenReturn(snapshotOf(today, today));
+
+        prewarmService.prewarmCurrentRates();
+
+        assertNull(prewarmService.getStatus().getLastSuccess());
+        assertEquals(1, prewarmService.getStatus().getConsecutiveFailures());
+        assertTrue(prewarmService.getStatus().getLastError().contains(today.toString()));
+
+        runScheduledRetry(INITIAL_DELAY);
+
+        assertNotNull(prewarmService.getStatus().getLastSuccess());
+        assertEquals(0, prewarmService.getStatus().getConsecutiveFailures());
+        verify(currencyRateService, times(2)).findSnapshotByDate(today);
+    }
+
+    @Test
+    void prewarmCurrentRates_fallbackRatesAreRetried() {
+        when(currencyRateService.findSnapshotByDate(today)).thenReturn(snapshotOf(today, today, true));
+
+        prewarmService.prewarmCurrentRates();
+
+        assertNull(prewarmService.getStatus().getLastSuccess());
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void prewarmCurrentRates_backsOffExponentiallyAndGivesUp() {
+        when(currencyRateService.findSnapshotByDate(today))
+                .thenThrow(new NbuUnavailableException("NBU is down"));
+
+        prewarmService.prewarmCurrentRates();
+        runScheduledRetry(INITIAL_DELAY);
+        runScheduledRetry(INITIAL_DELAY.multipliedBy(2));
+        runScheduledRetry(INITIAL_DELAY.multipliedBy(4));
+        runScheduledRetry(MAX_DELAY);
+
+        PrewarmStatusDto status = prewarmService.getStatus();
+        assertEquals(MAX_ATTEMPTS, status.getConsecutiveFailures());
+        assertEquals("NBU is down", status.getLastError());
+        assertNotNull(status.getLastAttempt());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        verify(currencyRateService, times(MAX_ATTEMPTS)).findSnapshotByDate(today);
+    }
+
+    private void runScheduledRetry(Duration expectedDelay) {
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        Instant now = Instant.now();
+
+        verify(taskScheduler).schedule(retry.capture(), at.capture());
+        Duration delay = Duration.between(now, at.getValue());
+        assertTrue(delay.compareTo(expectedDelay) <= 0
+                        && delay.compareTo(expectedDelay.minusSeconds(5)) > 0,
+                "Expected a retry in " + expectedDelay + " but got " + delay);
+
+        reset(taskScheduler);
+        retry.getValue().run();
+    }
+
+    private static RateSnapshot snapshotOf(LocalDate date, LocalDate exchangeDate) {
+        return snapshotOf(date, exchangeDate, false);
+    }
+
+    private static RateSnapshot snapshotOf(LocalDate date, LocalDate exchangeDate, boolean fallback) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setR030(840L);
+        rate.setCc("USD");
+        rate.setRate(BigDecimal.valueOf(39.2));
+        rate.setExchangeDate(exchangeDate);
+        rate.setFallback(fallback);
+
+        return new RateSnapshot(date, List.of(rate));
+    }
+}
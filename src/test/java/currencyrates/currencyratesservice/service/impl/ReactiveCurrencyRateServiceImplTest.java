@@ -0,0 +1,90 @@
+package currencyrates.currencyratesservice.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import currencyrates.currencyratesservice.exception.CurrencyRateNotFoundException;
+import currencyrates.currencyratesservice.exception.NbuUnavailableException;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.service.CurrencyRateService;
+import currencyrates.currencyratesservice.service.NbuService;
+import currencyrates.currencyratesservice.service.cache.RateSnapshot;
+import currencyrates.currencyratesservice.service.cache.RateSnapshotCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveCurrencyRateServiceImplTest {
+    //region Fields
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 18);
+    private final CurrencyRateService currencyRateService = mock(CurrencyRateService.class);
+    private final NbuService nbuService = mock(NbuService.class);
+    private final ReactiveCurrencyRateServiceImpl reactiveService = new ReactiveCurrencyRateServiceImpl(
+            currencyRateService, nbuService, new RateSnapshotCache(16, Duration.ofMinutes(5)),
+            Clock.systemDefaultZone());
+    //endregion
+
+    @Test
+    void findSnapshotByDate_storedSnapshotSkipsNbu() {
+        RateSnapshot stored = new RateSnapshot(DATE, List.of(rateOf("USD")));
+        when(currencyRateService.findStoredSnapshot(DATE)).thenReturn(Optional.of(stored));
+
+        assertSame(stored, reactiveService.findSnapshotByDate(DATE).block());
+        verify(nbuService, never()).fetchRatesForDateAsync(any());
+    }
+
+    @Test
+    void findSnapshotByDate_missFetchesFromNbuAsynchronously() {
+        List<CurrencyRate> fetched = List.of(rateOf("USD"));
+        RateSnapshot saved = new RateSnapshot(DATE, fetched);
+        when(currencyRateService.findStoredSnapshot(DATE)).thenReturn(Optional.empty());
+        when(nbuService.fetchRatesForDateAsync(DATE))
+                .thenReturn(CompletableFuture.completedFuture(fetched));
+        when(currencyRateService.saveFetchedSnapshot(DATE, fetched)).thenReturn(saved);
+
+        assertSame(saved, reactiveService.findSnapshotByDate(DATE).block());
+        verify(nbuService, never()).fetchRatesForDate(any());
+        verify(currencyRateService, never()).findSnapshotByDate(any());
+    }
+
+    @Test
+    void findSnapshotByDate_nbuFailureIsPropagated() {
+        when(currencyRateService.findStoredSnapshot(DATE)).thenReturn(Optional.empty());
+        when(nbuService.fetchRatesForDateAsync(DATE))
+                .thenReturn(CompletableFuture.failedFuture(new NbuUnavailableException("down")));
+
+        assertThrows(NbuUnavailableException.class,
+                () -> reactiveService.findSnapshotByDate(DATE).block());
+        verify(currencyRateService, never()).saveFetchedSnapshot(any(), any());
+    }
+
+    @Test
+    void findRateByDateAndCurrency_picksRateFromSnapshot() {
+        when(currencyRateService.findStoredSnapshot(DATE)).thenReturn(Optional.of(
+                new RateSnapshot(DATE, List.of(rateOf("USD"), rateOf("EUR")))));
+
+        assertEquals("EUR", reactiveService.findRateByDateAndCurrency("eur", DATE).block().getCc());
+        assertThrows(CurrencyRateNotFoundException.class,
+                () -> reactiveService.findRateByDateAndCurrency("GBP", DATE).block());
+    }
+
+    private static CurrencyRate rateOf(String currencyCode) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setCc(currencyCode);
+        rate.setRate(BigDecimal.valueOf(39.2));
+        rate.setExchangeDate(DATE);
+
+        return rate;
+    }
+}
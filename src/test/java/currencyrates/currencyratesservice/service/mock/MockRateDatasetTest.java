@@ -0,0 +1,58 @@
+package currencyrates.currencyratesservice.service.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MockRateDatasetTest {
+    //region Fields
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 3, 21);
+    private static final LocalDate SECOND_DATE = LocalDate.of(2024, 3, 22);
+    private static final long USD_R030 = 840L;
+    private MockRateDataset dataset;
+    //endregion
+
+    @BeforeEach
+    void init() {
+        dataset = MockRateDataset.of(List.of(
+                rate("USD", USD_R030, "39.1", FIRST_DATE),
+                rate("USD", USD_R030, "39.2", SECOND_DATE),
+                rate("EUR", 978L, "42.5", SECOND_DATE)));
+    }
+
+    @Test
+    void ratesOn_usesClosestEarlierDate() {
+        LocalDate requested = SECOND_DATE.plusDays(3);
+
+        List<CurrencyRate> rates = dataset.ratesOn(requested);
+
+        assertEquals(2, rates.size());
+        assertTrue(rates.stream().allMatch(rate -> requested.equals(rate.getExchangeDate())));
+        assertEquals(new BigDecimal("39.1"), dataset.rateOn("usd", FIRST_DATE).orElseThrow().getRate());
+        assertEquals(new BigDecimal("39.2"), dataset.rateOn(USD_R030, requested).orElseThrow().getRate());
+    }
+
+    @Test
+    void ratesOn_returnsDefensiveCopies() {
+        dataset.ratesOn(SECOND_DATE).forEach(rate -> rate.setRate(BigDecimal.ZERO));
+
+        assertEquals(new BigDecimal("42.5"), dataset.rateOn("EUR", SECOND_DATE).orElseThrow().getRate());
+    }
+
+    private static CurrencyRate rate(String cc, long r030, String value, LocalDate date) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setCc(cc);
+        rate.setR030(r030);
+        rate.setTxt(cc);
+        rate.setRate(new BigDecimal(value));
+        rate.setExchangeDate(date);
+
+        return rate;
+    }
+}
@@ -0,0 +1,206 @@
+package currencyrates.currencyratesservice.service.writebehind;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import currencyrates.currencyratesservice.model.CurrencyRate;
+import currencyrates.currencyratesservice.repository.CurrencyRateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateWriteBehindQueueTest {
+    //region Fields
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 22);
+    private final CurrencyRateRepository repository = mock(CurrencyRateRepository.class);
+    //endregion
+
+    @Test
+    void offer_disabledQueueRejects() throws InterruptedException {
+        RateWriteBehindQueue queue = newQueue(false, 16);
+        queue.start();
+
+        assertFalse(queue.offer(List.of(rate("USD"))));
+
+        queue.shutdown();
+        verify(repository, never()).upsertAll(anyList());
+    }
+
+    @Test
+    void offer_persistsInBackground() throws InterruptedException {
+        RateWriteBehindQueue queue = newQueue(true, 16);
+        queue.start();
+
+        assertTrue(queue.offer(List.of(rate("USD"), rate("EUR"))));
+
+        verify(repository, timeout(5000)).upsertAll(List.of(rate("USD"), rate("EUR")));
+        queue.shutdown();
+    }
+
+    @Test
+    void persist_retriesFailedBatch() throws InterruptedException {
+        when(repository.upsertAll(anyList()))
+                .thenThrow(new IllegalStateException("database is down"))
+                .thenReturn(1);
+        RateWriteBehindQueue queue = newQueue(true, 16);
+        queue.start();
+
+        assertTrue(queue.offer(List.of(rate("USD"))));
+
+        verify(repository, timeout(5000).times(2)).upsertAll(List.of(rate("USD")));
+        queue.shutdown();
+    }
+
+    @Test
+    void shutdown_drainsPendingRates() throws InterruptedException {
+        RateWriteBehindQueue queue = newQueue(true, 16);
+        queue.start();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.offer(List.of(rate("C" + i))));
+        }
+        queue.shutdown();
+
+        assertEquals(0, queue.getPendingRows());
+        assertFalse(queue.offer(List.of(rate("USD"))));
+    }
+
+    @Test
+    void offer_afterShutdownIsRejectedWithoutIndexing() throws InterruptedException {
+        RateWriteBehindQueue queue = newQueue(true, 16);
+        queue.start();
+        queue.shutdown();
+
+        assertFalse(queue.offer(List.of(rate("USD"))));
+
+        assertEquals(0, queue.getPendingRows());
+        assertTrue(queue.pendingRates(DATE).isEmpty());
+        verify(repository, never()).upsertAll(anyList());
+    }
+
+    @Test
+    void discard_dropsPendingRatesForDate() throws InterruptedException {
+        CountDownLatch persisting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CurrencyRate earlierRate = rate("USD");
+        earlierRate.setExchangeDate(DATE.minusDays(1));
+        when(repository.upsertAll(anyList())).thenAnswer(invocation -> {
+            persisting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+
+            return 1;
+        });
+        RateWriteBehindQueue queue = newQueue(true, 16);
+        queue.start();
+
+        assertTrue(queue.offer(List.of(earlierRate)));
+        assertTrue(persisting.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.offer(List.of(rate("EUR"))));
+        assertTrue(queue.pendingRate("eur", DATE).isPresent());
+        Thread discarding = Thread.ofPlatform().start(() -> queue.discard(DATE));
+        awaitParked(discarding);
+        release.countDown();
+        discarding.join(5000);
+        queue.shutdown();
+
+        assertEquals(0, queue.getPendingRows());
+        assertTrue(queue.pendingRates(DATE).isEmpty());
+        verify(repository, times(1)).upsertAll(anyList());
+        verify(repository, never()).upsertAll(List.of(rate("EUR")));
+    }
+
+    @Test
+    void discard_waitsForInFlightBatchOfSameDate() throws InterruptedException {
+        CountDownLatch persisting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean upserted = new AtomicBoolean();
+        AtomicBoolean upsertedBeforeDiscardReturned = new AtomicBoolean();
+        when(repository.upsertAll(anyList())).thenAnswer(invocation -> {
+            persisting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            upserted.set(true);
+
+            return 1;
+        });
+        RateWriteBehindQueue queue = newQueue(true, 16);
+        queue.start();
+
+        assertTrue(queue.offer(List.of(rate("USD"))));
+        assertTrue(persisting.await(5, TimeUnit.SECONDS));
+        assertEquals(Set.of(DATE), queue.pendingDatesBetween(DATE.minusDays(1), DATE));
+        Thread discarding = Thread.ofPlatform().start(() -> {
+            queue.discard(DATE);
+            upsertedBeforeDiscardReturned.set(upserted.get());
+        });
+        awaitParked(discarding);
+        release.countDown();
+        discarding.join(5000);
+        queue.shutdown();
+
+        assertFalse(discarding.isAlive());
+        assertTrue(upsertedBeforeDiscardReturned.get());
+        assertTrue(queue.pendingDatesBetween(DATE.minusDays(1), DATE).isEmpty());
+    }
+
+    @Test
+    void discard_dropsTakenBatchAwaitingRetry() throws InterruptedException {
+        CountDownLatch failed = new CountDownLatch(1);
+        when(repository.upsertAll(anyList())).thenAnswer(invocation -> {
+            failed.countDown();
+
+            throw new IllegalStateException("database is down");
+        });
+        RateWriteBehindQueue queue = new RateWriteBehindQueue(repository, new SimpleMeterRegistry(),
+                true, 16, 100, 3, Duration.ofSeconds(2), Duration.ofSeconds(5));
+        queue.start();
+
+        assertTrue(queue.offer(List.of(rate("USD"))));
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        queue.discard(DATE);
+        queue.shutdown();
+
+        verify(repository, times(1)).upsertAll(anyList());
+        assertTrue(queue.pendingRates(DATE).isEmpty());
+    }
+
+    private RateWriteBehindQueue newQueue(boolean enabled, int capacity) {
+        return new RateWriteBehindQueue(repository, new SimpleMeterRegistry(), enabled, capacity,
+                100, 3, Duration.ofMillis(1), Duration.ofSeconds(5));
+    }
+
+    private static CurrencyRate rate(String currencyCode) {
+        CurrencyRate rate = new CurrencyRate();
+        rate.setCc(currencyCode);
+        rate.setRate(BigDecimal.ONE);
+        rate.setExchangeDate(DATE);
+
+        return rate;
+    }
+
+    private static void awaitParked(Thread thread) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (thread.getState() != Thread.State.WAITING) {
+            if (System.nanoTime() - deadline > 0) {
+                fail("Thread " + thread.getName() + " did not wait for the in-flight batch");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}